@@ -33,6 +33,8 @@ public class SecurityConfig {
             .formLogin(formLogin -> formLogin.disable())
             .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtAuthenticationEntryPoint))
             .authorizeHttpRequests(auth -> auth
+                // Must precede the /api/campaigns/** permitAll below: first match wins
+                .requestMatchers(HttpMethod.POST, "/api/campaigns/import").authenticated()
                 .requestMatchers(
                     "/api/users/register",
                     "/api/users/login",
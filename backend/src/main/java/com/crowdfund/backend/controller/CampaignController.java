@@ -1,33 +1,87 @@
 package com.crowdfund.backend.controller;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
+import reactor.core.publisher.Flux;
+
+import com.crowdfund.backend.dto.CampaignDetail;
+import com.crowdfund.backend.dto.CampaignImportReport;
+import com.crowdfund.backend.dto.CampaignPatchRequest;
+import com.crowdfund.backend.dto.CampaignProgress;
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.CursorPage;
+import com.crowdfund.backend.dto.DataFormat;
+import com.crowdfund.backend.dto.FacetPage;
+import com.crowdfund.backend.dto.LeaderboardEntry;
+import com.crowdfund.backend.dto.LeaderboardType;
+import com.crowdfund.backend.dto.SearchPage;
+import com.crowdfund.backend.dto.TopDonorEntry;
 import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.User;
+import com.crowdfund.backend.service.CampaignDetailService;
+import com.crowdfund.backend.service.CampaignFacetIndex;
+import com.crowdfund.backend.service.CampaignImportService;
 import com.crowdfund.backend.service.CampaignManager;
+import com.crowdfund.backend.service.CampaignProgressBroadcaster;
+import com.crowdfund.backend.service.CampaignSearchIndex;
+import com.crowdfund.backend.service.LeaderboardService;
+import com.crowdfund.backend.util.ETags;
 
 @RestController
 @RequestMapping("/api/campaigns")
 public class CampaignController {
 
     private static final Logger log = LoggerFactory.getLogger(CampaignController.class);
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType(DataFormat.CSV.getContentType());
 
     @Autowired
     private CampaignManager campaignManager;
 
+    @Autowired
+    private LeaderboardService leaderboardService;
+
+    @Autowired
+    private CampaignProgressBroadcaster progressBroadcaster;
+
+    @Autowired
+    private CampaignSearchIndex campaignSearchIndex;
+
+    @Autowired
+    private CampaignFacetIndex campaignFacetIndex;
+
+    @Autowired
+    private CampaignImportService campaignImportService;
+
+    @Autowired
+    private CampaignDetailService campaignDetailService;
+
     @PostMapping
     public Campaign createCampaign(@RequestBody Campaign campaign) {
         log.info("Create campaign request. title={}, creatorId={}, ngoName={}, imageUrl={}",
@@ -38,21 +92,141 @@ public class CampaignController {
         return savedCampaign;
     }
 
+    // ✅ Bulk import (authenticated): NDJSON (one campaign per line) or CSV with a header row; returns a per-row report
+    @PostMapping(value = "/import", consumes = { "application/x-ndjson", "text/csv" })
+    public CampaignImportReport importCampaigns(HttpServletRequest request, @AuthenticationPrincipal User user) throws IOException {
+        DataFormat format = MediaType.parseMediaType(request.getContentType()).isCompatibleWith(TEXT_CSV)
+            ? DataFormat.CSV
+            : DataFormat.NDJSON;
+        return campaignImportService.importCampaigns(request.getInputStream(), format, user.getId());
+    }
+
     @GetMapping
-    public List<Campaign> getAllCampaigns() {
-        List<Campaign> campaigns = campaignManager.getAllCampaigns();
-        log.info("GET /api/campaigns response count={}", campaigns.size());
-        return campaigns;
+    public CursorPage<CampaignSummary> getCampaigns(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @RequestParam(required = false) String status,
+            WebRequest request) {
+        CursorPage<CampaignSummary> page = campaignManager.listCampaigns(cursor, size, status);
+        log.info("GET /api/campaigns response count={}, hasMore={}", page.getItems().size(), page.isHasMore());
+        if (request.checkNotModified(summariesETag(page.getItems(), page.getNextCursor()))) {
+            return null;
+        }
+        return page;
     }
 
+    @GetMapping("/search")
+    public SearchPage<CampaignSummary> searchCampaigns(
+            @RequestParam String q,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        SearchPage<CampaignSummary> result = campaignSearchIndex.search(q, page, size);
+        if (request.checkNotModified(summariesETag(result.getItems(), result.getTotal()))) {
+            return null;
+        }
+        return result;
+    }
+
+    // ✅ Facet filters: repeat a parameter to select several values, e.g. ?status=active&funding=0-25&funding=25-50
+    @GetMapping("/browse")
+    public FacetPage<CampaignSummary> browseCampaigns(
+            @RequestParam(required = false) List<String> status,
+            @RequestParam(required = false) List<String> ngo,
+            @RequestParam(required = false) List<String> funding,
+            @RequestParam(required = false) List<String> deadline,
+            @RequestParam(required = false) List<String> target,
+            @RequestParam(required = false) Integer page,
+            @RequestParam(required = false) Integer size,
+            WebRequest request) {
+        Map<String, List<String>> filters = new HashMap<>();
+        filters.put(CampaignFacetIndex.STATUS, status);
+        filters.put(CampaignFacetIndex.NGO, ngo);
+        filters.put(CampaignFacetIndex.FUNDING, funding);
+        filters.put(CampaignFacetIndex.DEADLINE, deadline);
+        filters.put(CampaignFacetIndex.TARGET, target);
+        FacetPage<CampaignSummary> result = campaignFacetIndex.browse(filters, page, size);
+        if (request.checkNotModified(summariesETag(result.getItems(), result.getTotal(), result.getFacets()))) {
+            return null;
+        }
+        return result;
+    }
+
+    @GetMapping("/leaderboard")
+    public List<LeaderboardEntry> getLeaderboard(
+            @RequestParam(defaultValue = "MOST_RAISED") LeaderboardType type,
+            @RequestParam(required = false) Integer limit,
+            WebRequest request) {
+        List<LeaderboardEntry> entries = leaderboardService.getLeaderboard(type, limit);
+        List<CampaignSummary> campaigns = entries.stream().map(LeaderboardEntry::getCampaign).toList();
+        if (request.checkNotModified(summariesETag(campaigns, type))) {
+            return null;
+        }
+        return entries;
+    }
+
+    @GetMapping("/creator/{creatorId}")
+    public List<Campaign> getCampaignsByCreator(@PathVariable String creatorId) {
+        return campaignManager.getCampaignsByCreator(creatorId);
+    }
+
+    @GetMapping("/{id}/top-donors")
+    public List<TopDonorEntry> getTopDonors(@PathVariable String id, @RequestParam(required = false) Integer limit) {
+        return leaderboardService.getTopDonors(id, limit);
+    }
+
+    // ✅ Live progress over SSE, replaces polling GET /{id} for the progress bar
+    @GetMapping(value = "/{id}/progress/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<CampaignProgress>> streamProgress(@PathVariable String id) {
+        return progressBroadcaster.stream(id);
+    }
+
+    // ✅ Conditional GET: a matching If-None-Match is answered with 304 before the document is loaded
+    // Without If-None-Match there is nothing to compare, so the ETag comes from the loaded campaign
     @GetMapping("/{id}")
-    public Optional<Campaign> getCampaignById(@PathVariable String id) {
-        return campaignManager.getCampaignById(id);
+    public ResponseEntity<Campaign> getCampaignById(
+            @PathVariable String id,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch,
+            WebRequest request) {
+        if (ifNoneMatch != null) {
+            Optional<String> etag = campaignManager.currentETag(id);
+            if (etag.isPresent() && request.checkNotModified(etag.get())) {
+                return null;
+            }
+        }
+        return campaignManager.getCampaignById(id)
+            .map(campaign -> ResponseEntity.ok().eTag(campaignManager.eTagOf(campaign)).body(campaign))
+            .orElse(ResponseEntity.ok().build());
     }
 
+    // ✅ Campaign page in one call: campaign, latest donations and counts, loaded in parallel
+    @GetMapping("/{id}/detail")
+    public CampaignDetail getCampaignDetail(
+            @PathVariable String id,
+            @RequestParam(required = false) Integer donations) {
+        return campaignDetailService.getDetail(id, donations);
+    }
+
+    // ✅ Full update; If-Match (or "version" in the body) is optional here and makes it conditional (409 on conflict)
     @PutMapping("/{id}")
-    public Campaign updateCampaign(@PathVariable String id, @RequestBody Campaign campaign) {
-        return campaignManager.updateCampaign(id, campaign);
+    public ResponseEntity<Campaign> updateCampaign(
+            @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody Campaign campaign) {
+        Long expectedVersion = ifMatch != null ? ETags.parseCampaignVersion(ifMatch) : campaign.getVersion();
+        Campaign saved = campaignManager.updateCampaign(id, campaign, expectedVersion);
+        return ResponseEntity.ok().eTag(campaignManager.eTagOf(saved)).body(saved);
+    }
+
+    // ✅ Partial update; send the ETag from GET /{id} as If-Match (or "version" in the body). 409 on conflict
+    @PatchMapping("/{id}")
+    public ResponseEntity<Campaign> patchCampaign(
+            @PathVariable String id,
+            @RequestHeader(value = "If-Match", required = false) String ifMatch,
+            @RequestBody CampaignPatchRequest patch) {
+        Long expectedVersion = ifMatch != null ? ETags.parseCampaignVersion(ifMatch) : patch.getVersion();
+        Campaign saved = campaignManager.patchCampaign(id, patch, expectedVersion);
+        return ResponseEntity.ok().eTag(campaignManager.eTagOf(saved)).body(saved);
     }
 
     @DeleteMapping("/{id}")
@@ -63,4 +237,16 @@ public class CampaignController {
             return ResponseEntity.notFound().build();
         }
     }
+
+    // Weak ETag over what a list response shows; raisedAmount already includes pending donations
+    private static String summariesETag(List<CampaignSummary> items, Object... extra) {
+        List<Object> parts = new ArrayList<>(Arrays.asList(extra));
+        for (CampaignSummary item : items) {
+            parts.add(item.getId());
+            parts.add(item.getVersion());
+            parts.add(item.getRaisedAmount());
+            parts.add(item.getStatus());
+        }
+        return ETags.weak(parts);
+    }
 }
@@ -1,6 +1,9 @@
 package com.crowdfund.backend.controller;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -8,13 +11,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.crowdfund.backend.dto.CursorPage;
 import com.crowdfund.backend.dto.DonationRequest;
 import com.crowdfund.backend.dto.DonationResponse;
 import com.crowdfund.backend.model.Donation;
 import com.crowdfund.backend.service.DonationManager;
+import com.crowdfund.backend.service.IdempotencyService;
+import com.crowdfund.backend.util.ETags;
 
 import jakarta.validation.Valid;
 
@@ -23,9 +31,11 @@ import jakarta.validation.Valid;
 public class DonationController {
 
     private final DonationManager donationManager;
+    private final IdempotencyService idempotencyService;
 
-    public DonationController(DonationManager donationManager) {
+    public DonationController(DonationManager donationManager, IdempotencyService idempotencyService) {
         this.donationManager = donationManager;
+        this.idempotencyService = idempotencyService;
     }
 
     // ✅ Create donation for a campaign by a user
@@ -33,16 +43,43 @@ public class DonationController {
     public ResponseEntity<DonationResponse> donate(
             @PathVariable String campaignId,
             @PathVariable String userId,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody DonationRequest request
     ) {
-        DonationResponse response = donationManager.donate(campaignId, userId, request);
+        DonationResponse response = idempotencyService.execute(
+                "donation:" + campaignId + ":" + userId,
+                idempotencyKey,
+                request,
+                DonationResponse.class,
+                () -> donationManager.donate(campaignId, userId, request));
         return ResponseEntity.ok(response);
     }
 
-    // ✅ List donations of a campaign
+    // ✅ List donations of a campaign (cursor paginated)
     @GetMapping("/campaigns/{campaignId}/donations")
-    public ResponseEntity<List<Donation>> listByCampaign(@PathVariable String campaignId) {
-        return ResponseEntity.ok(donationManager.listByCampaign(campaignId));
+    public ResponseEntity<CursorPage<Donation>> listByCampaign(
+            @PathVariable String campaignId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        CursorPage<Donation> page = donationManager.listByCampaign(campaignId, cursor, size);
+        // Weak ETag; ResponseEntity answers a matching If-None-Match with 304 and no body
+        List<Object> parts = new ArrayList<>();
+        parts.add(page.getNextCursor());
+        for (Donation donation : page.getItems()) {
+            parts.add(donation.getId());
+            parts.add(donation.getPaymentStatus());
+        }
+        return ResponseEntity.ok().eTag(ETags.weak(parts)).body(page);
+    }
+
+    // ✅ Count donations of a campaign
+    @GetMapping("/campaigns/{campaignId}/donations/count")
+    public ResponseEntity<Map<String, Object>> countByCampaign(@PathVariable String campaignId) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("campaignId", campaignId);
+        body.put("count", donationManager.countByCampaign(campaignId));
+        return ResponseEntity.ok(body);
     }
 
     // ✅ Get single donation
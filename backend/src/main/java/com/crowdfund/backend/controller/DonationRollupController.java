@@ -0,0 +1,37 @@
+package com.crowdfund.backend.controller;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.crowdfund.backend.model.DonationRollup;
+import com.crowdfund.backend.service.DonationRollupService;
+
+@RestController
+@RequestMapping("/api")
+public class DonationRollupController {
+
+    private final DonationRollupService donationRollupService;
+
+    public DonationRollupController(DonationRollupService donationRollupService) {
+        this.donationRollupService = donationRollupService;
+    }
+
+    // ✅ Hourly / daily donation buckets of a campaign, e.g. ?granularity=DAY&from=2026-01-01T00:00:00Z
+    @GetMapping("/campaigns/{campaignId}/rollups")
+    public ResponseEntity<List<DonationRollup>> getRollups(
+            @PathVariable String campaignId,
+            @RequestParam(defaultValue = "HOUR") DonationRollup.Granularity granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant to
+    ) {
+        return ResponseEntity.ok(donationRollupService.getRange(campaignId, granularity, from, to));
+    }
+}
@@ -5,6 +5,8 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,12 +17,17 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.crowdfund.backend.dto.CreateOrderRequest;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.exception.ConflictException;
+import com.crowdfund.backend.exception.TooManyRequestsException;
 import com.crowdfund.backend.model.Payment;
 import com.crowdfund.backend.repository.PaymentRepository;
+import com.crowdfund.backend.service.IdempotencyService;
 import com.crowdfund.backend.service.RazorpayOrderService;
 import com.razorpay.RazorpayException;
 
@@ -38,18 +45,48 @@ public class PaymentController {
     @Autowired
     private RazorpayOrderService razorpayOrderService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // ✅ The Idempotency-Key is claimed (or replayed) here; only the gateway call runs on the Razorpay
+    // order pool, so the Tomcat thread is released while Razorpay responds. Keys are scoped per user.
     @PostMapping("/create-order")
-    public ResponseEntity<Map<String, Object>> createOrder(@Valid @RequestBody CreateOrderRequest request) {
-        try {
-            Map<String, Object> orderResponse = razorpayOrderService.createOrder(request);
-            return ResponseEntity.ok(orderResponse);
-        } catch (IllegalArgumentException ex) {
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<ResponseEntity<Map<String, Object>>> createOrder(
+        @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+        @Valid @RequestBody CreateOrderRequest request
+    ) {
+        return idempotencyService
+            .executeAsync(
+                "create-order:" + request.getUserId(),
+                idempotencyKey,
+                request,
+                Map.class,
+                () -> razorpayOrderService.createOrderAsync(() -> razorpayOrderService.createOrder(request))
+            )
+            .thenApply(order -> ResponseEntity.ok((Map<String, Object>) order))
+            .exceptionally(ex -> orderErrorResponse(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex));
+    }
+
+    private ResponseEntity<Map<String, Object>> orderErrorResponse(Throwable ex) {
+        if (ex instanceof ConflictException) {
+            return buildErrorResponse(HttpStatus.CONFLICT, ex.getMessage(), ex.getMessage(), "IDEMPOTENCY_CONFLICT");
+        }
+        if (ex instanceof BadRequestException) {
+            return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid order request", ex.getMessage(), "IDEMPOTENCY_KEY_REUSED");
+        }
+        if (ex instanceof TooManyRequestsException) {
+            return buildErrorResponse(HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), ex.getMessage(), "RAZORPAY_BUSY");
+        }
+        if (ex instanceof IllegalArgumentException) {
             log.error("Invalid order request: {}", ex.getMessage(), ex);
             return buildErrorResponse(HttpStatus.BAD_REQUEST, "Invalid order request", ex.getMessage(), "ORDER_VALIDATION_ERROR");
-        } catch (IllegalStateException ex) {
+        }
+        if (ex instanceof IllegalStateException) {
             log.error("Razorpay configuration error: {}", ex.getMessage(), ex);
             return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, ex.getMessage(), ex.getMessage(), "RAZORPAY_CONFIG_ERROR");
-        } catch (RazorpayException ex) {
+        }
+        if (ex instanceof RazorpayException) {
             log.error("Razorpay API error while creating order: {}", ex.getMessage(), ex);
             if (isAuthenticationFailure(ex.getMessage())) {
                 return buildErrorResponse(
@@ -61,10 +98,9 @@ public class PaymentController {
             }
             HttpStatus status = mapRazorpayStatus(ex.getMessage());
             return buildErrorResponse(status, "Error creating Razorpay order", ex.getMessage(), "RAZORPAY_API_ERROR");
-        } catch (Exception ex) {
-            log.error("Unexpected payment error", ex);
-            return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected payment error", ex.getMessage(), "PAYMENT_INTERNAL_ERROR");
         }
+        log.error("Unexpected payment error", ex);
+        return buildErrorResponse(HttpStatus.INTERNAL_SERVER_ERROR, "Unexpected payment error", ex.getMessage(), "PAYMENT_INTERNAL_ERROR");
     }
 
     @PostMapping
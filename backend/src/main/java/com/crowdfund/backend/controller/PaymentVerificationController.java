@@ -1,14 +1,18 @@
 package com.crowdfund.backend.controller;
 
+import java.util.Map;
+
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.crowdfund.backend.dto.PaymentVerificationRequest;
 import com.crowdfund.backend.dto.PaymentVerificationResponse;
 import com.crowdfund.backend.service.PaymentVerificationService;
+import com.crowdfund.backend.service.PaymentWebhookService;
 
 import jakarta.validation.Valid;
 
@@ -17,9 +21,14 @@ import jakarta.validation.Valid;
 public class PaymentVerificationController {
 
     private final PaymentVerificationService paymentVerificationService;
+    private final PaymentWebhookService paymentWebhookService;
 
-    public PaymentVerificationController(PaymentVerificationService paymentVerificationService) {
+    public PaymentVerificationController(
+        PaymentVerificationService paymentVerificationService,
+        PaymentWebhookService paymentWebhookService
+    ) {
         this.paymentVerificationService = paymentVerificationService;
+        this.paymentWebhookService = paymentWebhookService;
     }
 
     @PostMapping("/verify")
@@ -29,4 +38,15 @@ public class PaymentVerificationController {
         PaymentVerificationResponse response = paymentVerificationService.verifyAndProcessReceipt(request);
         return ResponseEntity.ok(response);
     }
+
+    // ✅ Razorpay webhook: raw body for the signature check, acknowledged once stored in the inbox
+    @PostMapping("/webhook")
+    public ResponseEntity<Map<String, String>> receiveWebhook(
+        @RequestBody byte[] body,
+        @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+        @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId
+    ) {
+        PaymentWebhookService.Outcome outcome = paymentWebhookService.accept(body, signature, eventId);
+        return ResponseEntity.ok(Map.of("status", outcome.name()));
+    }
 }
@@ -9,6 +9,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.crowdfund.backend.dto.ReceiptJobStatus;
 import com.crowdfund.backend.service.ReceiptService;
 
 @RestController
@@ -36,4 +37,12 @@ public class ReceiptController {
             })
             .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    // ✅ Receipt email job status (PENDING, PROCESSING, SENT, DEAD)
+    @GetMapping("/jobs/{paymentId}")
+    public ResponseEntity<ReceiptJobStatus> getReceiptJobStatus(@PathVariable String paymentId) {
+        return receiptService.findJobByPaymentId(paymentId)
+            .map(job -> ResponseEntity.ok(ReceiptJobStatus.from(job)))
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
 }
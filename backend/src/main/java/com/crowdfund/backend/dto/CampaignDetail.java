@@ -0,0 +1,35 @@
+package com.crowdfund.backend.dto;
+
+import java.util.List;
+
+import com.crowdfund.backend.model.Campaign;
+
+// GET /api/campaigns/{id}/detail: everything the campaign page needs in one response
+public class CampaignDetail {
+
+    private Campaign campaign;
+    private List<RecentDonation> recentDonations;
+    private long donationCount;
+    private long uniqueDonorCount;
+
+    public CampaignDetail() {}
+
+    public CampaignDetail(Campaign campaign, List<RecentDonation> recentDonations, long donationCount, long uniqueDonorCount) {
+        this.campaign = campaign;
+        this.recentDonations = recentDonations;
+        this.donationCount = donationCount;
+        this.uniqueDonorCount = uniqueDonorCount;
+    }
+
+    public Campaign getCampaign() { return campaign; }
+    public void setCampaign(Campaign campaign) { this.campaign = campaign; }
+
+    public List<RecentDonation> getRecentDonations() { return recentDonations; }
+    public void setRecentDonations(List<RecentDonation> recentDonations) { this.recentDonations = recentDonations; }
+
+    public long getDonationCount() { return donationCount; }
+    public void setDonationCount(long donationCount) { this.donationCount = donationCount; }
+
+    public long getUniqueDonorCount() { return uniqueDonorCount; }
+    public void setUniqueDonorCount(long uniqueDonorCount) { this.uniqueDonorCount = uniqueDonorCount; }
+}
@@ -0,0 +1,79 @@
+package com.crowdfund.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class CampaignImportReport {
+
+    public static final String IMPORTED = "imported";
+    public static final String FAILED = "failed";
+
+    private int received;
+    private int imported;
+    private int failed;
+    // True when the upload had more rows than app.campaigns.import.max-rows; the rest were not read
+    private boolean truncated;
+    private List<RowResult> rows = new ArrayList<>();
+
+    public void add(RowResult result) {
+        rows.add(result);
+        received++;
+        if (IMPORTED.equals(result.getStatus())) {
+            imported++;
+        } else {
+            failed++;
+        }
+    }
+
+    public int getReceived() { return received; }
+    public void setReceived(int received) { this.received = received; }
+
+    public int getImported() { return imported; }
+    public void setImported(int imported) { this.imported = imported; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public boolean isTruncated() { return truncated; }
+    public void setTruncated(boolean truncated) { this.truncated = truncated; }
+
+    public List<RowResult> getRows() { return rows; }
+    public void setRows(List<RowResult> rows) { this.rows = rows; }
+
+    public static class RowResult {
+
+        private int row; // 1-based data row; CSV header not counted
+        private String status;
+        private String id;
+        private String error;
+
+        public RowResult() {}
+
+        public RowResult(int row, String status, String id, String error) {
+            this.row = row;
+            this.status = status;
+            this.id = id;
+            this.error = error;
+        }
+
+        public static RowResult imported(int row, String id) {
+            return new RowResult(row, IMPORTED, id, null);
+        }
+
+        public static RowResult failed(int row, String error) {
+            return new RowResult(row, FAILED, null, error);
+        }
+
+        public int getRow() { return row; }
+        public void setRow(int row) { this.row = row; }
+
+        public String getStatus() { return status; }
+        public void setStatus(String status) { this.status = status; }
+
+        public String getId() { return id; }
+        public void setId(String id) { this.id = id; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+    }
+}
@@ -0,0 +1,39 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+// One NDJSON line or CSV record of POST /api/campaigns/import; CSV columns are matched by header
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CampaignImportRow {
+
+    private String title;
+    private String description;
+    private Double targetAmount;
+    private Date deadline;
+    private String creatorId;
+    private String ngoName;
+    private String imageUrl;
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Double getTargetAmount() { return targetAmount; }
+    public void setTargetAmount(Double targetAmount) { this.targetAmount = targetAmount; }
+
+    public Date getDeadline() { return deadline; }
+    public void setDeadline(Date deadline) { this.deadline = deadline; }
+
+    public String getCreatorId() { return creatorId; }
+    public void setCreatorId(String creatorId) { this.creatorId = creatorId; }
+
+    public String getNgoName() { return ngoName; }
+    public void setNgoName(String ngoName) { this.ngoName = ngoName; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+}
@@ -0,0 +1,36 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+// PATCH /api/campaigns/{id}: null fields are left unchanged
+public class CampaignPatchRequest {
+
+    private String title;
+    private String description;
+    private Double targetAmount;
+    private Date deadline;
+    private String imageUrl;
+    private String ngoName;
+    private Long version; // alternative to the If-Match header
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getDescription() { return description; }
+    public void setDescription(String description) { this.description = description; }
+
+    public Double getTargetAmount() { return targetAmount; }
+    public void setTargetAmount(Double targetAmount) { this.targetAmount = targetAmount; }
+
+    public Date getDeadline() { return deadline; }
+    public void setDeadline(Date deadline) { this.deadline = deadline; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public String getNgoName() { return ngoName; }
+    public void setNgoName(String ngoName) { this.ngoName = ngoName; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -0,0 +1,29 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+public class CampaignProgress {
+
+    private final String campaignId;
+    private final double raisedAmount;
+    private final double targetAmount;
+    private final long donationCount;
+    private final double percent;
+    private final Date updatedAt;
+
+    public CampaignProgress(String campaignId, double raisedAmount, double targetAmount, long donationCount, Date updatedAt) {
+        this.campaignId = campaignId;
+        this.raisedAmount = raisedAmount;
+        this.targetAmount = targetAmount;
+        this.donationCount = donationCount;
+        this.percent = targetAmount > 0 ? Math.round(raisedAmount / targetAmount * 10000) / 100.0 : 0;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getCampaignId() { return campaignId; }
+    public double getRaisedAmount() { return raisedAmount; }
+    public double getTargetAmount() { return targetAmount; }
+    public long getDonationCount() { return donationCount; }
+    public double getPercent() { return percent; }
+    public Date getUpdatedAt() { return updatedAt; }
+}
@@ -0,0 +1,77 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+import com.crowdfund.backend.model.Campaign;
+
+// List-view shape of a campaign; everything except the description. Read straight from Mongo with
+// CampaignRepository.SUMMARY_FIELDS so the description is never transferred or deserialized.
+public class CampaignSummary {
+
+    public static final String[] FIELDS = {
+        "title", "ngoName", "imageUrl", "targetAmount", "raisedAmount", "deadline", "status", "creatorId", "createdAt", "version"
+    };
+
+    private String id;
+    private String title;
+    private String ngoName;
+    private String imageUrl;
+    private double targetAmount;
+    private double raisedAmount;
+    private Date deadline;
+    private String status;
+    private String creatorId;
+    private Date createdAt;
+    private Long version;
+
+    public CampaignSummary() {}
+
+    public static CampaignSummary from(Campaign campaign) {
+        CampaignSummary summary = new CampaignSummary();
+        summary.id = campaign.getId();
+        summary.title = campaign.getTitle();
+        summary.ngoName = campaign.getNgoName();
+        summary.imageUrl = campaign.getImageUrl();
+        summary.targetAmount = campaign.getTargetAmount();
+        summary.raisedAmount = campaign.getRaisedAmount();
+        summary.deadline = campaign.getDeadline();
+        summary.status = campaign.getStatus();
+        summary.creatorId = campaign.getCreatorId();
+        summary.createdAt = campaign.getCreatedAt();
+        summary.version = campaign.getVersion();
+        return summary;
+    }
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getTitle() { return title; }
+    public void setTitle(String title) { this.title = title; }
+
+    public String getNgoName() { return ngoName; }
+    public void setNgoName(String ngoName) { this.ngoName = ngoName; }
+
+    public String getImageUrl() { return imageUrl; }
+    public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+
+    public double getTargetAmount() { return targetAmount; }
+    public void setTargetAmount(double targetAmount) { this.targetAmount = targetAmount; }
+
+    public double getRaisedAmount() { return raisedAmount; }
+    public void setRaisedAmount(double raisedAmount) { this.raisedAmount = raisedAmount; }
+
+    public Date getDeadline() { return deadline; }
+    public void setDeadline(Date deadline) { this.deadline = deadline; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public String getCreatorId() { return creatorId; }
+    public void setCreatorId(String creatorId) { this.creatorId = creatorId; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+}
@@ -12,6 +12,8 @@ public class DonationRequest {
     private String donorEmail;    // optional
     private boolean anonymous;    // default false
     private String message;       // optional
+    private String paymentOrderId;   // optional, Razorpay order_id; lets the payment webhook find this donation
+    private String paymentPaymentId; // optional, Razorpay payment_id
 
     // Getters & Setters
     public Double getAmount() { return amount; }
@@ -28,4 +30,10 @@ public class DonationRequest {
 
     public String getMessage() { return message; }
     public void setMessage(String message) { this.message = message; }
+
+    public String getPaymentOrderId() { return paymentOrderId; }
+    public void setPaymentOrderId(String paymentOrderId) { this.paymentOrderId = paymentOrderId; }
+
+    public String getPaymentPaymentId() { return paymentPaymentId; }
+    public void setPaymentPaymentId(String paymentPaymentId) { this.paymentPaymentId = paymentPaymentId; }
 }
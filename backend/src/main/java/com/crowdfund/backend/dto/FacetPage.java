@@ -0,0 +1,20 @@
+package com.crowdfund.backend.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class FacetPage<T> extends SearchPage<T> {
+
+    // facet -> value -> number of matching campaigns if that value were selected
+    private Map<String, Map<String, Long>> facets;
+
+    public FacetPage() {}
+
+    public FacetPage(List<T> items, long total, int page, int size, Map<String, Map<String, Long>> facets) {
+        super(items, total, page, size);
+        this.facets = facets;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() { return facets; }
+    public void setFacets(Map<String, Map<String, Long>> facets) { this.facets = facets; }
+}
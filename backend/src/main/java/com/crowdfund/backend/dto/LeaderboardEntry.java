@@ -0,0 +1,25 @@
+package com.crowdfund.backend.dto;
+
+public class LeaderboardEntry {
+
+    private int rank;
+    private double score;
+    private CampaignSummary campaign;
+
+    public LeaderboardEntry() {}
+
+    public LeaderboardEntry(int rank, double score, CampaignSummary campaign) {
+        this.rank = rank;
+        this.score = score;
+        this.campaign = campaign;
+    }
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public double getScore() { return score; }
+    public void setScore(double score) { this.score = score; }
+
+    public CampaignSummary getCampaign() { return campaign; }
+    public void setCampaign(CampaignSummary campaign) { this.campaign = campaign; }
+}
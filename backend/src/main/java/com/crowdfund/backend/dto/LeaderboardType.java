@@ -0,0 +1,7 @@
+package com.crowdfund.backend.dto;
+
+public enum LeaderboardType {
+    MOST_RAISED,
+    CLOSEST_TO_TARGET,
+    ENDING_SOON
+}
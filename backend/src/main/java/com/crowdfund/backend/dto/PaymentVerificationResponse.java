@@ -9,6 +9,8 @@ public class PaymentVerificationResponse {
     private String receiptDownloadUrl;
     private boolean emailSent;
     private boolean alreadyProcessed;
+    private String emailStatus;       // receipt job status: PENDING, PROCESSING, SENT, DEAD or NOT_QUEUED
+    private String receiptStatusUrl;
 
     public PaymentVerificationResponse() {
     }
@@ -86,4 +88,20 @@ public class PaymentVerificationResponse {
     public void setAlreadyProcessed(boolean alreadyProcessed) {
         this.alreadyProcessed = alreadyProcessed;
     }
+
+    public String getEmailStatus() {
+        return emailStatus;
+    }
+
+    public void setEmailStatus(String emailStatus) {
+        this.emailStatus = emailStatus;
+    }
+
+    public String getReceiptStatusUrl() {
+        return receiptStatusUrl;
+    }
+
+    public void setReceiptStatusUrl(String receiptStatusUrl) {
+        this.receiptStatusUrl = receiptStatusUrl;
+    }
 }
@@ -0,0 +1,87 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+import com.crowdfund.backend.model.ReceiptJob;
+
+public class ReceiptJobStatus {
+
+    private String receiptId;
+    private String paymentId;
+    private String status;
+    private int attempts;
+    private String lastError;
+    private Date nextAttemptAt;   // only while PENDING
+    private Date completedAt;
+
+    public ReceiptJobStatus() {
+    }
+
+    public static ReceiptJobStatus from(ReceiptJob job) {
+        ReceiptJobStatus status = new ReceiptJobStatus();
+        status.setReceiptId(job.getId());
+        status.setPaymentId(job.getPaymentId());
+        status.setStatus(job.getStatus());
+        status.setAttempts(job.getAttempts());
+        status.setLastError(job.getLastError());
+        status.setNextAttemptAt(ReceiptJob.PENDING.equals(job.getStatus()) ? job.getAvailableAt() : null);
+        status.setCompletedAt(job.getCompletedAt());
+        return status;
+    }
+
+    public String getReceiptId() {
+        return receiptId;
+    }
+
+    public void setReceiptId(String receiptId) {
+        this.receiptId = receiptId;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public void setPaymentId(String paymentId) {
+        this.paymentId = paymentId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public Date getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public void setNextAttemptAt(Date nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public Date getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Date completedAt) {
+        this.completedAt = completedAt;
+    }
+}
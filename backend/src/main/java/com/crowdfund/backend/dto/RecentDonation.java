@@ -0,0 +1,36 @@
+package com.crowdfund.backend.dto;
+
+import java.util.Date;
+
+// Public view of a donation for the campaign page; contact and payment fields are never read
+public class RecentDonation {
+
+    public static final String ANONYMOUS = "Anonymous";
+
+    private String id;
+    private String donorName;
+    private boolean anonymous;
+    private double amount;
+    private String message;
+    private Date createdAt;
+
+    public RecentDonation() {}
+
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public String getDonorName() { return donorName; }
+    public void setDonorName(String donorName) { this.donorName = donorName; }
+
+    public boolean isAnonymous() { return anonymous; }
+    public void setAnonymous(boolean anonymous) { this.anonymous = anonymous; }
+
+    public double getAmount() { return amount; }
+    public void setAmount(double amount) { this.amount = amount; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+
+    public Date getCreatedAt() { return createdAt; }
+    public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+}
@@ -0,0 +1,30 @@
+package com.crowdfund.backend.dto;
+
+public class TopDonorEntry {
+
+    private int rank;
+    private String donorName;
+    private boolean anonymous;
+    private double totalAmount;
+
+    public TopDonorEntry() {}
+
+    public TopDonorEntry(int rank, String donorName, boolean anonymous, double totalAmount) {
+        this.rank = rank;
+        this.donorName = donorName;
+        this.anonymous = anonymous;
+        this.totalAmount = totalAmount;
+    }
+
+    public int getRank() { return rank; }
+    public void setRank(int rank) { this.rank = rank; }
+
+    public String getDonorName() { return donorName; }
+    public void setDonorName(String donorName) { this.donorName = donorName; }
+
+    public boolean isAnonymous() { return anonymous; }
+    public void setAnonymous(boolean anonymous) { this.anonymous = anonymous; }
+
+    public double getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(double totalAmount) { this.totalAmount = totalAmount; }
+}
@@ -0,0 +1,7 @@
+package com.crowdfund.backend.dto;
+
+// Closed projection: only _id and name are read from the users collection
+public interface UserNameView {
+    String getId();
+    String getName();
+}
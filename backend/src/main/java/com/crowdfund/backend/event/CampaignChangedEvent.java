@@ -0,0 +1,13 @@
+package com.crowdfund.backend.event;
+
+import com.crowdfund.backend.model.Campaign;
+
+// Published after a campaign write has been persisted; campaign is null for deletes
+public record CampaignChangedEvent(String campaignId, Type type, Campaign campaign) {
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED
+    }
+}
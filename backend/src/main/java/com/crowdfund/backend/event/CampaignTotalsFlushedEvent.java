@@ -0,0 +1,8 @@
+package com.crowdfund.backend.event;
+
+import java.util.Set;
+
+// Published after DonationAggregator has written raisedAmount deltas to the database (flush or
+// crash recovery). The persisted totals of these campaigns may now include other nodes' donations too.
+public record CampaignTotalsFlushedEvent(Set<String> campaignIds) {
+}
@@ -0,0 +1,21 @@
+package com.crowdfund.backend.event;
+
+import java.util.Date;
+
+// Published once money for a campaign has landed, either through DonationManager.donate
+// or through a verified Razorpay payment
+public record DonationRecordedEvent(
+    String campaignId,
+    String donorId,
+    String donorName,
+    boolean anonymous,
+    double amount,
+    Date occurredAt,
+    Source source
+) {
+
+    public enum Source {
+        DONATION,
+        VERIFIED_PAYMENT
+    }
+}
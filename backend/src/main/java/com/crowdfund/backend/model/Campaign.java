@@ -1,13 +1,23 @@
 package com.crowdfund.backend.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.util.Date;
 
 @Document(collection = "campaigns")
+@CompoundIndex(name = "createdAt_id_desc", def = "{'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "raisedAmount_desc", def = "{'raisedAmount': -1}")
+@CompoundIndex(name = "status_deadline", def = "{'status': 1, 'deadline': 1}")
+@CompoundIndex(name = "creatorId_createdAt_desc", def = "{'creatorId': 1, 'createdAt': -1}")
+@CompoundIndex(name = "status_createdAt_id_desc", def = "{'status': 1, 'createdAt': -1, '_id': -1}")
 public class Campaign {
 
+    public static final String STATUS_ACTIVE = "active";
+    public static final String STATUS_CLOSED = "closed";
+
     @Id
     private String id;
     private String title;
@@ -21,6 +31,11 @@ public class Campaign {
     private String status; // active / closed
     private Date createdAt = new Date();
 
+    // Optimistic-locking version for content edits (title, target, status, ...); template updates that
+    // change content must $inc it too. Donation totals do not: they are covered by the ETag instead.
+    @Version
+    private Long version;
+
     // Constructors
     public Campaign() {}
 
@@ -32,10 +47,25 @@ public class Campaign {
         this.deadline = deadline;
         this.creatorId = creatorId;
         this.imageUrl = imageUrl;
-        this.status = "active";
+        this.status = STATUS_ACTIVE;
         this.createdAt = new Date();
     }
 
+    public Campaign(Campaign other) {
+        this.id = other.id;
+        this.title = other.title;
+        this.description = other.description;
+        this.targetAmount = other.targetAmount;
+        this.raisedAmount = other.raisedAmount;
+        this.deadline = other.deadline;
+        this.creatorId = other.creatorId;
+        this.ngoName = other.ngoName;
+        this.imageUrl = other.imageUrl;
+        this.status = other.status;
+        this.createdAt = other.createdAt;
+        this.version = other.version;
+    }
+
     // Getters & Setters
     public String getId() {
         return id;
@@ -113,4 +143,11 @@ public class Campaign {
     public void setCreatedAt(Date createdAt) {
         this.createdAt = createdAt;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+    public void setVersion(Long version) {
+        this.version = version;
+    }
 }
@@ -0,0 +1,22 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "change_stream_checkpoints")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChangeStreamCheckpoint {
+
+    @Id
+    private String id; // node id; every node has its own cache, so its own stream position
+
+    private String resumeToken; // _id of the last handled change event, as extended JSON
+    private Date updatedAt;
+}
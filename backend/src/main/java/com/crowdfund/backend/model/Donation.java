@@ -2,10 +2,16 @@ package com.crowdfund.backend.model;
 
 import java.util.Date;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "donations")
+@CompoundIndex(name = "campaign_createdAt_id", def = "{'campaignId': 1, 'createdAt': -1, '_id': -1}")
+@CompoundIndex(name = "paymentOrderId", def = "{'paymentOrderId': 1}", sparse = true)
+@CompoundIndex(name = "aggregatorSession_campaign", def = "{'aggregatorSession': 1, 'campaignId': 1}", sparse = true)
 public class Donation {
 
     @Id
@@ -29,6 +35,9 @@ public class Donation {
 
     private Date createdAt = new Date();
 
+    @JsonIgnore
+    private String aggregatorSession; // write-behind session that counted this donation (crash recovery)
+
     public Donation() {}
 
     // Getters & Setters
@@ -73,4 +82,7 @@ public class Donation {
 
     public Date getCreatedAt() { return createdAt; }
     public void setCreatedAt(Date createdAt) { this.createdAt = createdAt; }
+
+    public String getAggregatorSession() { return aggregatorSession; }
+    public void setAggregatorSession(String aggregatorSession) { this.aggregatorSession = aggregatorSession; }
 }
@@ -0,0 +1,25 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "donation_aggregator_state")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationAggregatorState {
+
+    @Id
+    private String id; // node id
+
+    private String sessionId; // stamped on donations and used as the campaigns.aggregatorFlushedPaise key
+    private Date sessionStartedAt;
+    private Date stoppedAt;
+    private boolean cleanShutdown;
+    private Date leaseUntil; // renewed by the running session's heartbeat; null once stopped
+}
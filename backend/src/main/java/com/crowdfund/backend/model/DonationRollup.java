@@ -0,0 +1,37 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "donation_rollups")
+@CompoundIndex(name = "campaign_granularity_bucket", def = "{'campaignId': 1, 'granularity': 1, 'bucketStart': 1}")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DonationRollup {
+
+    public enum Granularity {
+        HOUR,
+        DAY
+    }
+
+    @Id
+    private String id; // campaignId:granularity:bucketStartMillis
+
+    private String campaignId;
+    private Granularity granularity;
+    private Date bucketStart;
+    private double sum;
+    private long count;
+    private double max;
+
+    public static String idFor(String campaignId, Granularity granularity, Date bucketStart) {
+        return campaignId + ":" + granularity + ":" + bucketStart.getTime();
+    }
+}
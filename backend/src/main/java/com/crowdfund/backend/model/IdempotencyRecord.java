@@ -0,0 +1,31 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "idempotency_keys")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class IdempotencyRecord {
+
+    public static final String IN_PROGRESS = "IN_PROGRESS";
+    public static final String COMPLETED = "COMPLETED";
+
+    @Id
+    private String id; // scope + ":" + Idempotency-Key
+
+    private String requestHash;
+    private String status;
+    private String responseBody;
+    private Date lockedUntil;
+
+    @Indexed(expireAfter = "24h")
+    private Date createdAt;
+}
@@ -0,0 +1,26 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+@Document(collection = "migration_checkpoints")
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class MigrationCheckpoint {
+
+    @Id
+    private String id; // migration job name
+
+    private String lastProcessedId;
+    private long processedCount;
+    private long updatedCount;
+    private boolean completed;
+    private Date startedAt;
+    private Date updatedAt;
+}
@@ -0,0 +1,52 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Inbox row for one Razorpay webhook delivery. The id is X-Razorpay-Event-Id, so redeliveries of
+// the same event collide on insert and are acknowledged without being queued twice.
+@Document(collection = "payment_webhook_events")
+@CompoundIndex(name = "status_availableAt", def = "{'status': 1, 'availableAt': 1}")
+@Data
+@NoArgsConstructor
+public class PaymentWebhookEvent {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED"; // dead letter: out of attempts or unparseable
+
+    @Id
+    private String id;
+
+    private String event; // e.g. payment.captured
+    private String payload; // raw body, parsed by the worker
+    private String status;
+    private int attempts;
+    private Date availableAt;
+    private Date lockedUntil;
+    @Indexed(sparse = true)
+    private String lockToken;
+    private String lastError;
+    private Date receivedAt;
+
+    // Set only on DONE rows: processed events expire after 30 days, FAILED ones are kept
+    @Indexed(expireAfter = "30d")
+    private Date processedAt;
+    private Date failedAt;
+
+    public PaymentWebhookEvent(String id, String event, String payload, Date receivedAt, Date availableAt) {
+        this.id = id;
+        this.event = event;
+        this.payload = payload;
+        this.status = PENDING;
+        this.availableAt = availableAt;
+        this.receivedAt = receivedAt;
+    }
+}
@@ -3,11 +3,19 @@ package com.crowdfund.backend.model;
 import java.time.LocalDateTime;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document(collection = "receipts")
+@CompoundIndex(name = "status_donationDateTime", def = "{'status': 1, 'donationDateTime': 1}")
 public class Receipt {
 
+    // Payment state as last reported by verification or the Razorpay webhook
+    public static final String STATUS_CAPTURED = "CAPTURED";
+    public static final String STATUS_FAILED = "FAILED";
+    public static final String STATUS_REFUNDED = "REFUNDED";
+
     @Id
     private String id;
 
@@ -18,9 +26,12 @@ public class Receipt {
     private String donorPhone;
     private double amount;
     private String currency;
+    // Unique: /verify and the payment.captured webhook can race to create the receipt for one payment
+    @Indexed(unique = true)
     private String paymentId;
     private String orderId;
     private LocalDateTime donationDateTime;
+    private String status;
 
     public String getId() {
         return id;
@@ -109,4 +120,12 @@ public class Receipt {
     public void setDonationDateTime(LocalDateTime donationDateTime) {
         this.donationDateTime = donationDateTime;
     }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
 }
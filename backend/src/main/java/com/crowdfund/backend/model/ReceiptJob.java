@@ -0,0 +1,45 @@
+package com.crowdfund.backend.model;
+
+import java.util.Date;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+// Pending PDF + email work for one receipt. The id is the receipt id, so a receipt is queued at most once.
+@Document(collection = "receipt_jobs")
+@CompoundIndex(name = "status_availableAt", def = "{'status': 1, 'availableAt': 1}")
+@Data
+@NoArgsConstructor
+public class ReceiptJob {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String SENT = "SENT";
+    public static final String DEAD = "DEAD"; // out of attempts or not deliverable (e.g. no donor email)
+
+    @Id
+    private String id;
+
+    @Indexed
+    private String paymentId;
+    private String status;
+    private int attempts;
+    private Date availableAt;
+    private Date lockedUntil;
+    private String lockToken;
+    private String lastError;
+    private Date createdAt;
+    private Date completedAt;
+
+    public ReceiptJob(String receiptId, String paymentId, Date createdAt) {
+        this.id = receiptId;
+        this.paymentId = paymentId;
+        this.status = PENDING;
+        this.availableAt = createdAt;
+        this.createdAt = createdAt;
+    }
+}
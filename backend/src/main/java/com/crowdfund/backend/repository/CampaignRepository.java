@@ -1,11 +1,45 @@
 package com.crowdfund.backend.repository;
 
 
-import com.crowdfund.backend.model.Campaign;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.model.Campaign;
+
 @Repository
-public interface CampaignRepository extends MongoRepository<Campaign, String> {
-    // Additional queries if needed
+public interface CampaignRepository extends MongoRepository<Campaign, String>, CampaignRepositoryCustom {
+
+    // Projection for CampaignSummary; keep in sync with CampaignSummary.FIELDS
+    String SUMMARY_FIELDS = "{ 'title': 1, 'ngoName': 1, 'imageUrl': 1, 'targetAmount': 1, 'raisedAmount': 1, "
+        + "'deadline': 1, 'status': 1, 'creatorId': 1, 'createdAt': 1, 'version': 1 }";
+
+    // Keyset pagination over the {createdAt: -1, _id: -1} index
+    @Query(value = "{}", fields = SUMMARY_FIELDS, sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<CampaignSummary> findFirstPage(Pageable pageable);
+
+    @Query(value = "{ '$or': [ { 'createdAt': { '$lt': ?0 } }, { 'createdAt': ?0, '_id': { '$lt': ?1 } } ] }",
+        fields = SUMMARY_FIELDS, sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<CampaignSummary> findPageAfter(Date createdAt, ObjectId id, Pageable pageable);
+
+    // Same keyset pages restricted to one status, over the {status: 1, createdAt: -1, _id: -1} index
+    @Query(value = "{ 'status': ?0 }", fields = SUMMARY_FIELDS, sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<CampaignSummary> findFirstPageByStatus(String status, Pageable pageable);
+
+    @Query(value = "{ 'status': ?0, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }",
+        fields = SUMMARY_FIELDS, sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<CampaignSummary> findPageByStatusAfter(String status, Date createdAt, ObjectId id, Pageable pageable);
+
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = SUMMARY_FIELDS)
+    List<CampaignSummary> findSummariesByIdIn(Collection<String> ids);
+
+    // A creator's own dashboard needs the full documents; served by the creatorId index
+    List<Campaign> findByCreatorIdOrderByCreatedAtDesc(String creatorId);
 }
@@ -0,0 +1,21 @@
+package com.crowdfund.backend.repository;
+
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.crowdfund.backend.model.Campaign;
+
+public interface CampaignRepositoryCustom {
+
+    // Atomically adds amount to raisedAmount (version is left alone: it tracks content edits); returns the new total, or null if the campaign does not exist
+    Double incrementRaisedAmount(String campaignId, double amount);
+
+    // Version-only read; null when the campaign does not exist
+    Long findVersion(String campaignId);
+
+    // Version and raisedAmount only, for conditional GETs; null when the campaign does not exist
+    Campaign findValidatorFields(String campaignId);
+
+    // Applies the update (plus a version bump) only while the stored version still matches;
+    // expectedVersion null skips the check. Returns the updated document, or null when nothing matched.
+    Campaign updateIfVersion(String campaignId, Long expectedVersion, Update update);
+}
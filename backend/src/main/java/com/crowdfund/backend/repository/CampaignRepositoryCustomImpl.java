@@ -0,0 +1,65 @@
+package com.crowdfund.backend.repository;
+
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.crowdfund.backend.model.Campaign;
+
+public class CampaignRepositoryCustomImpl implements CampaignRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public CampaignRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Double incrementRaisedAmount(String campaignId, double amount) {
+        Query query = Query.query(Criteria.where("id").is(campaignId));
+        query.fields().include("raisedAmount");
+        Campaign updated = mongoTemplate.findAndModify(
+            query,
+            new Update().inc("raisedAmount", amount),
+            FindAndModifyOptions.options().returnNew(true),
+            Campaign.class);
+        return updated == null ? null : updated.getRaisedAmount();
+    }
+
+    @Override
+    public Long findVersion(String campaignId) {
+        Query query = Query.query(Criteria.where("id").is(campaignId));
+        query.fields().include("version");
+        Campaign found = mongoTemplate.findOne(query, Campaign.class);
+        if (found == null) {
+            return null;
+        }
+        return found.getVersion() != null ? found.getVersion() : 0L;
+    }
+
+    @Override
+    public Campaign findValidatorFields(String campaignId) {
+        Query query = Query.query(Criteria.where("id").is(campaignId));
+        query.fields().include("version").include("raisedAmount");
+        return mongoTemplate.findOne(query, Campaign.class);
+    }
+
+    @Override
+    public Campaign updateIfVersion(String campaignId, Long expectedVersion, Update update) {
+        Criteria criteria = Criteria.where("id").is(campaignId);
+        if (expectedVersion != null) {
+            // Campaigns written before @Version have no field; they are version 0 (as in their ETag)
+            // until the first update's $inc sets it
+            criteria = expectedVersion == 0
+                ? criteria.and("version").in(0L, null)
+                : criteria.and("version").is(expectedVersion);
+        }
+        return mongoTemplate.findAndModify(
+            Query.query(criteria),
+            update.inc("version", 1),
+            FindAndModifyOptions.options().returnNew(true),
+            Campaign.class);
+    }
+}
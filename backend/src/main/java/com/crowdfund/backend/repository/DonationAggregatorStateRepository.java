@@ -0,0 +1,8 @@
+package com.crowdfund.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.crowdfund.backend.model.DonationAggregatorState;
+
+public interface DonationAggregatorStateRepository extends MongoRepository<DonationAggregatorState, String> {
+}
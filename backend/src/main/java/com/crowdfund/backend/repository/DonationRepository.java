@@ -1,10 +1,33 @@
 package com.crowdfund.backend.repository;
 
+import com.crowdfund.backend.dto.RecentDonation;
 import com.crowdfund.backend.model.Donation;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
 
+import java.util.Date;
 import java.util.List;
 
 public interface DonationRepository extends MongoRepository<Donation, String> {
     List<Donation> findByCampaignId(String campaignId);
+
+    // Served by the {campaignId: 1, createdAt: -1, _id: -1} index
+    long countByCampaignId(String campaignId);
+
+    long countByCampaignIdAndPaymentStatus(String campaignId, String paymentStatus);
+
+    @Query(value = "{ 'campaignId': ?0 }", sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<Donation> findFirstPageByCampaign(String campaignId, Pageable pageable);
+
+    @Query(value = "{ 'campaignId': ?0, '$or': [ { 'createdAt': { '$lt': ?1 } }, { 'createdAt': ?1, '_id': { '$lt': ?2 } } ] }",
+        sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<Donation> findPageByCampaignAfter(String campaignId, Date createdAt, ObjectId id, Pageable pageable);
+
+    // Successful donations only; pending or failed payments are not shown on the campaign page
+    @Query(value = "{ 'campaignId': ?0, 'paymentStatus': 'SUCCESS' }",
+        fields = "{ 'donorName': 1, 'anonymous': 1, 'amount': 1, 'message': 1, 'createdAt': 1 }",
+        sort = "{ 'createdAt': -1, '_id': -1 }")
+    List<RecentDonation> findRecentByCampaign(String campaignId, Pageable pageable);
 }
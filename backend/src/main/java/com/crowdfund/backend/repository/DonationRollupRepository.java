@@ -0,0 +1,16 @@
+package com.crowdfund.backend.repository;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+
+import com.crowdfund.backend.model.DonationRollup;
+
+public interface DonationRollupRepository extends MongoRepository<DonationRollup, String> {
+
+    @Query(value = "{ 'campaignId': ?0, 'granularity': ?1, 'bucketStart': { '$gte': ?2, '$lt': ?3 } }",
+        sort = "{ 'bucketStart': 1 }")
+    List<DonationRollup> findRange(String campaignId, DonationRollup.Granularity granularity, Date from, Date to);
+}
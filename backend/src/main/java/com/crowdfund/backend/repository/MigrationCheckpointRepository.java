@@ -0,0 +1,8 @@
+package com.crowdfund.backend.repository;
+
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import com.crowdfund.backend.model.MigrationCheckpoint;
+
+public interface MigrationCheckpointRepository extends MongoRepository<MigrationCheckpoint, String> {
+}
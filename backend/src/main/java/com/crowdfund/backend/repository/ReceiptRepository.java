@@ -1,5 +1,7 @@
 package com.crowdfund.backend.repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.mongodb.repository.MongoRepository;
@@ -8,4 +10,10 @@ import com.crowdfund.backend.model.Receipt;
 
 public interface ReceiptRepository extends MongoRepository<Receipt, String> {
     Optional<Receipt> findByPaymentId(String paymentId);
+
+    List<Receipt> findByPaymentIdIn(Collection<String> paymentIds);
+
+    long countByCampaignId(String campaignId);
+
+    long countByCampaignIdAndStatusNotIn(String campaignId, Collection<String> statuses);
 }
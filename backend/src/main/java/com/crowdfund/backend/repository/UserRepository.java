@@ -1,12 +1,16 @@
 package com.crowdfund.backend.repository;
 
+import com.crowdfund.backend.dto.UserNameView;
 import com.crowdfund.backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends MongoRepository<User, String> {
     Optional<User> findByEmail(String email);
     Optional<User> findByPhoneNumber(String phoneNumber);
     boolean existsByPhoneNumber(String phoneNumber);
+    List<UserNameView> findByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,178 @@
+package com.crowdfund.backend.service;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.MigrationCheckpoint;
+import com.crowdfund.backend.repository.MigrationCheckpointRepository;
+
+@Service
+public class CampaignBackfillMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignBackfillMigration.class);
+
+    static final String JOB_NAME = "campaign-backfill-v1";
+
+    private final MongoTemplate mongoTemplate;
+    private final CreatorNameResolver creatorNameResolver;
+    private final MigrationCheckpointRepository checkpointRepository;
+    private final boolean enabled;
+    private final int batchSize;
+
+    public CampaignBackfillMigration(
+            MongoTemplate mongoTemplate,
+            CreatorNameResolver creatorNameResolver,
+            MigrationCheckpointRepository checkpointRepository,
+            @Value("${app.migrations.campaign-backfill.enabled:true}") boolean enabled,
+            @Value("${app.migrations.campaign-backfill.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.creatorNameResolver = creatorNameResolver;
+        this.checkpointRepository = checkpointRepository;
+        this.enabled = enabled;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startInBackground() {
+        if (!enabled) {
+            log.info("Campaign backfill migration disabled");
+            return;
+        }
+        Thread worker = new Thread(this::runSafely, "campaign-backfill");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void runSafely() {
+        try {
+            run();
+        } catch (Exception ex) {
+            // The checkpoint is left at the last completed batch, so the next start resumes from there.
+            log.error("Campaign backfill migration failed", ex);
+        }
+    }
+
+    public MigrationCheckpoint run() {
+        MigrationCheckpoint checkpoint = checkpointRepository.findById(JOB_NAME).orElseGet(() -> {
+            MigrationCheckpoint fresh = new MigrationCheckpoint();
+            fresh.setId(JOB_NAME);
+            fresh.setStartedAt(new Date());
+            return fresh;
+        });
+        if (checkpoint.isCompleted()) {
+            log.info("Campaign backfill migration already completed. processed={}, updated={}",
+                checkpoint.getProcessedCount(), checkpoint.getUpdatedCount());
+            return checkpoint;
+        }
+        log.info("Campaign backfill migration starting. resumeAfterId={}", checkpoint.getLastProcessedId());
+
+        while (true) {
+            List<Document> batch = fetchBatch(checkpoint.getLastProcessedId());
+            if (batch.isEmpty()) {
+                break;
+            }
+            int updated = applyBatch(batch);
+
+            checkpoint.setLastProcessedId(batch.get(batch.size() - 1).getObjectId("_id").toHexString());
+            checkpoint.setProcessedCount(checkpoint.getProcessedCount() + batch.size());
+            checkpoint.setUpdatedCount(checkpoint.getUpdatedCount() + updated);
+            checkpoint.setUpdatedAt(new Date());
+            checkpointRepository.save(checkpoint);
+            log.debug("Campaign backfill batch done. lastId={}, batchSize={}, updated={}",
+                checkpoint.getLastProcessedId(), batch.size(), updated);
+        }
+
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(new Date());
+        checkpointRepository.save(checkpoint);
+        log.info("Campaign backfill migration completed. processed={}, updated={}",
+            checkpoint.getProcessedCount(), checkpoint.getUpdatedCount());
+        return checkpoint;
+    }
+
+    private List<Document> fetchBatch(String lastProcessedId) {
+        Query query = new Query();
+        if (lastProcessedId != null) {
+            query.addCriteria(Criteria.where("_id").gt(new ObjectId(lastProcessedId)));
+        }
+        query.with(Sort.by(Sort.Direction.ASC, "_id")).limit(batchSize);
+        query.fields().include("imageUrl", "ngoName", "creatorId", "createdAt");
+        // Raw documents: the entity would default a missing createdAt to "now"
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Campaign.class));
+    }
+
+    private int applyBatch(List<Document> batch) {
+        Map<String, String> creatorNames = loadCreatorNames(batch);
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+        int pending = 0;
+
+        for (Document doc : batch) {
+            Update update = new Update();
+            boolean changed = false;
+
+            String imageUrl = doc.getString("imageUrl");
+            String normalizedImageUrl = CampaignManager.normalizeImageUrl(imageUrl);
+            if (normalizedImageUrl != null && !normalizedImageUrl.equals(imageUrl)) {
+                update.set("imageUrl", normalizedImageUrl);
+                changed = true;
+            }
+
+            String ngoName = doc.getString("ngoName");
+            String creatorName = creatorNames.get(doc.getString("creatorId"));
+            if (isBlank(ngoName) && !isBlank(creatorName)) {
+                update.set("ngoName", creatorName);
+                changed = true;
+            }
+
+            ObjectId id = doc.getObjectId("_id");
+            if (doc.get("createdAt") == null) {
+                update.set("createdAt", id.getDate());
+                changed = true;
+            }
+
+            if (changed) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(id)), update.inc("version", 1));
+                pending++;
+            }
+        }
+
+        if (pending == 0) {
+            return 0;
+        }
+        return bulk.execute().getModifiedCount();
+    }
+
+    private Map<String, String> loadCreatorNames(List<Document> batch) {
+        Set<String> creatorIds = new HashSet<>();
+        for (Document doc : batch) {
+            String creatorId = doc.getString("creatorId");
+            if (isBlank(doc.getString("ngoName")) && !isBlank(creatorId)) {
+                creatorIds.add(creatorId);
+            }
+        }
+        return creatorIds.isEmpty() ? Map.of() : creatorNameResolver.resolveNames(creatorIds);
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
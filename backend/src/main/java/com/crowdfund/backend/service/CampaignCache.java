@@ -0,0 +1,64 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+// Read-through cache for single-campaign reads; hit/miss counters are exported as cache.gets{cache=campaigns}
+@Service
+public class CampaignCache {
+
+    private final Cache<String, Campaign> cache;
+
+    public CampaignCache(
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.campaigns.max-size:5000}") long maxSize,
+            @Value("${app.cache.campaigns.ttl:5m}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "campaigns");
+    }
+
+    // The loader may return null for unknown ids; misses are not cached
+    public Optional<Campaign> get(String id, Function<String, Campaign> loader) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.get(id, loader));
+    }
+
+    // No loading: lets conditional GETs answer from memory when the campaign is already cached
+    public Optional<Campaign> getIfPresent(String id) {
+        return id == null ? Optional.empty() : Optional.ofNullable(cache.getIfPresent(id));
+    }
+
+    public void evict(String id) {
+        if (id != null) {
+            cache.invalidate(id);
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        evict(event.campaignId());
+    }
+}
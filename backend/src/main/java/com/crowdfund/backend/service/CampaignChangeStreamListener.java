@@ -0,0 +1,224 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Message;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.Subscription;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.ChangeStreamCheckpoint;
+import com.crowdfund.backend.repository.ChangeStreamCheckpointRepository;
+import com.mongodb.MongoServerException;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+
+import jakarta.annotation.PreDestroy;
+
+// Evicts cached campaigns on writes made by any node. Change streams need a replica set,
+// so this is opt-in via app.campaigns.change-stream.enabled.
+// The resume token of the last handled event is checkpointed per node. When the stream fails it is
+// re-opened after that token with exponential backoff, so no write made in between is missed.
+@Component
+public class CampaignChangeStreamListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignChangeStreamListener.class);
+
+    // ChangeStreamFatalError, ChangeStreamHistoryLost: the token can no longer be resumed from
+    private static final int CHANGE_STREAM_FATAL = 280;
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignCache campaignCache;
+    private final ChangeStreamCheckpointRepository checkpointRepository;
+    private final boolean enabled;
+    private final String nodeId;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+
+    private final ScheduledExecutorService restarter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "campaign-change-stream-restart");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private MessageListenerContainer container;
+    private volatile Subscription subscription;
+    private volatile BsonDocument resumeToken;
+    private BsonDocument savedToken;
+    private volatile int failures;
+    private boolean restartScheduled;
+    private volatile boolean stopped;
+
+    public CampaignChangeStreamListener(
+            MongoTemplate mongoTemplate,
+            CampaignCache campaignCache,
+            ChangeStreamCheckpointRepository checkpointRepository,
+            @Value("${app.campaigns.change-stream.enabled:false}") boolean enabled,
+            @Value("${app.campaigns.change-stream.node-id:}") String nodeId,
+            @Value("${app.campaigns.change-stream.backoff.initial:1s}") Duration initialBackoff,
+            @Value("${app.campaigns.change-stream.backoff.max:1m}") Duration maxBackoff) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignCache = campaignCache;
+        this.checkpointRepository = checkpointRepository;
+        this.enabled = enabled;
+        this.nodeId = nodeId;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            log.info("Campaign change stream disabled; cache relies on local invalidation and TTL");
+            return;
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            throw new IllegalStateException("app.campaigns.change-stream.node-id must be set to a stable id unique to "
+                + "this node; it keys the stored resume token");
+        }
+        resumeToken = checkpointRepository.findById(nodeId)
+            .map(ChangeStreamCheckpoint::getResumeToken)
+            .map(BsonDocument::parse)
+            .orElse(null);
+        savedToken = resumeToken;
+
+        container = new DefaultMessageListenerContainer(mongoTemplate,
+            new SimpleAsyncTaskExecutor("campaign-change-stream-"), this::onError);
+        container.start();
+        subscribe();
+        log.info("Campaign change stream listener started. node={}, resumed={}", nodeId, resumeToken != null);
+    }
+
+    private synchronized void subscribe() {
+        ChangeStreamRequest.ChangeStreamRequestBuilder<Document> builder = ChangeStreamRequest
+            .builder(this::onChange)
+            .collection(mongoTemplate.getCollectionName(Campaign.class));
+        if (resumeToken != null) {
+            builder.resumeAfter(resumeToken);
+        } else {
+            // No position to resume from: whatever changed before this point may be cached stale
+            campaignCache.evictAll();
+        }
+        subscription = container.register(builder.build(), Document.class);
+    }
+
+    // Called from the stream's thread. Listener exceptions leave the subscription running;
+    // a cursor failure cancels it, and only then is a restart scheduled.
+    private synchronized void onError(Throwable ex) {
+        if (stopped || subscription == null || subscription.isActive()) {
+            log.warn("Campaign change stream error: {}", ex.getMessage(), ex);
+            return;
+        }
+        if (isUnresumable(ex)) {
+            log.warn("Campaign change stream cannot resume from its token; restarting from now", ex);
+            resumeToken = null;
+        }
+        if (restartScheduled) {
+            return;
+        }
+        long delay = Math.min(maxBackoff.toMillis(), initialBackoff.toMillis() << Math.min(failures, 16));
+        failures++;
+        restartScheduled = true;
+        log.warn("Campaign change stream failed; restarting. attempt={}, delayMs={}", failures, delay, ex);
+        restarter.schedule(this::restart, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void restart() {
+        restartScheduled = false;
+        if (stopped) {
+            return;
+        }
+        try {
+            if (subscription != null) {
+                container.remove(subscription);
+            }
+            subscribe();
+            log.info("Campaign change stream restarted. resumed={}", resumeToken != null);
+        } catch (RuntimeException ex) {
+            onError(ex);
+        }
+    }
+
+    private boolean isUnresumable(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof MongoServerException server) {
+                return server.getCode() == CHANGE_STREAM_HISTORY_LOST || server.getCode() == CHANGE_STREAM_FATAL;
+            }
+        }
+        return false;
+    }
+
+    private void onChange(Message<ChangeStreamDocument<Document>, Document> message) {
+        ChangeStreamDocument<Document> change = message.getRaw();
+        if (change == null) {
+            return;
+        }
+        handle(change);
+        // Recorded only once the eviction is done, so a resume never skips an unhandled event.
+        // An invalidated stream (collection dropped or renamed) cannot be resumed; it restarts from now.
+        resumeToken = change.getOperationType() == OperationType.INVALIDATE ? null : change.getResumeToken();
+        failures = 0;
+    }
+
+    private void handle(ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        if (operation == OperationType.DROP || operation == OperationType.INVALIDATE
+                || operation == OperationType.DROP_DATABASE || operation == OperationType.RENAME) {
+            campaignCache.evictAll();
+            return;
+        }
+        BsonDocument key = change.getDocumentKey();
+        BsonValue id = key == null ? null : key.get("_id");
+        if (id == null) {
+            return;
+        }
+        String campaignId = id.isObjectId() ? id.asObjectId().getValue().toHexString()
+            : id.isString() ? id.asString().getValue() : id.toString();
+        campaignCache.evict(campaignId);
+        log.debug("Campaign change stream eviction. id={}, operation={}", campaignId, operation);
+    }
+
+    // Written on an interval rather than per event; a restart replays at most one interval of evictions
+    @Scheduled(fixedDelayString = "${app.campaigns.change-stream.checkpoint-interval:5s}")
+    public void saveCheckpoint() {
+        BsonDocument token = resumeToken;
+        if (!enabled || Objects.equals(token, savedToken)) {
+            return;
+        }
+        try {
+            checkpointRepository.save(new ChangeStreamCheckpoint(nodeId, token == null ? null : token.toJson(), new Date()));
+            savedToken = token;
+        } catch (RuntimeException ex) {
+            log.warn("Failed to save campaign change stream checkpoint: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        stopped = true;
+        restarter.shutdownNow();
+        if (container != null) {
+            container.stop();
+            saveCheckpoint();
+        }
+    }
+}
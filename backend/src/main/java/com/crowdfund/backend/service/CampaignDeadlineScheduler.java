@@ -0,0 +1,257 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.event.CampaignTotalsFlushedEvent;
+import com.crowdfund.backend.event.DonationRecordedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.mongodb.client.result.UpdateResult;
+
+// Closes campaigns when their deadline passes or they reach their target. Deadlines within the
+// horizon sit in a min-heap loaded from the {status, deadline} index; a tick pops the due ones and
+// closes them with batched updateMulti calls. Every close is published as CampaignChangedEvent.
+// Funded campaigns are only looked for among those whose persisted total changed since the last tick.
+@Service
+public class CampaignDeadlineScheduler {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignDeadlineScheduler.class);
+
+    private record Deadline(String campaignId, long at) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration horizon;
+    private final int batchSize;
+    private final boolean enabled;
+
+    private final PriorityQueue<Deadline> heap = new PriorityQueue<>(Comparator.comparingLong(Deadline::at));
+    // Latest known deadline per queued campaign; heap entries that disagree are stale and skipped
+    private final Map<String, Long> scheduled = new HashMap<>();
+    // Campaigns whose raisedAmount was written since the last funded check
+    private final Set<String> totalsChanged = ConcurrentHashMap.newKeySet();
+    private long loadedUntil;
+    private boolean statusBackfilled;
+
+    public CampaignDeadlineScheduler(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.campaigns.deadlines.enabled:true}") boolean enabled,
+            @Value("${app.campaigns.deadlines.horizon:1h}") Duration horizon,
+            @Value("${app.campaigns.deadlines.batch-size:500}") int batchSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.horizon = horizon;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    // Runs at startup and then every half horizon, so the heap always covers the next window
+    @Scheduled(fixedDelayString = "${app.campaigns.deadlines.reload-interval:30m}")
+    public void reload() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            backfillStatus();
+            long until = System.currentTimeMillis() + horizon.toMillis();
+            Query query = new Query(Criteria.where("status").is(Campaign.STATUS_ACTIVE).and("deadline").lte(new Date(until)))
+                .with(Sort.by(Sort.Direction.ASC, "deadline"));
+            query.fields().include("deadline");
+            List<Campaign> upcoming = mongoTemplate.find(query, Campaign.class);
+            synchronized (this) {
+                heap.clear();
+                scheduled.clear();
+                upcoming.forEach(campaign -> schedule(campaign.getId(), campaign.getDeadline().getTime()));
+                loadedUntil = until;
+            }
+            log.info("Deadline heap loaded. campaigns={}, horizon={}", upcoming.size(), horizon);
+            closeDue();
+        } catch (RuntimeException ex) {
+            log.error("Deadline heap reload failed", ex);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.campaigns.deadlines.tick:5s}")
+    public void closeDue() {
+        if (!enabled) {
+            return;
+        }
+        closeFunded();
+        long now = System.currentTimeMillis();
+        while (true) {
+            List<String> batch = new ArrayList<>();
+            synchronized (this) {
+                while (!heap.isEmpty() && heap.peek().at() <= now && batch.size() < batchSize) {
+                    Deadline due = heap.poll();
+                    Long current = scheduled.get(due.campaignId());
+                    if (current != null && current == due.at()) {
+                        scheduled.remove(due.campaignId());
+                        batch.add(due.campaignId());
+                    }
+                }
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            close(batch, Criteria.where("deadline").lte(new Date(now)), "deadline");
+        }
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        Campaign campaign = event.campaign();
+        synchronized (this) {
+            if (event.type() == CampaignChangedEvent.Type.DELETED || campaign == null
+                    || !Campaign.STATUS_ACTIVE.equals(campaign.getStatus()) || campaign.getDeadline() == null) {
+                scheduled.remove(event.campaignId());
+                return;
+            }
+            long at = campaign.getDeadline().getTime();
+            if (at <= loadedUntil) {
+                schedule(campaign.getId(), at);
+            } else {
+                // Beyond the window; the next reload picks it up
+                scheduled.remove(campaign.getId());
+            }
+        }
+    }
+
+    @EventListener
+    public void onDonationRecorded(DonationRecordedEvent event) {
+        if (!enabled || event.source() != DonationRecordedEvent.Source.DONATION) {
+            return;
+        }
+        try {
+            // The cached view includes write-behind deltas, so this sees the amount that just landed
+            campaignManager.getCampaignById(event.campaignId())
+                .filter(campaign -> Campaign.STATUS_ACTIVE.equals(campaign.getStatus()))
+                .filter(campaign -> campaign.getTargetAmount() > 0 && campaign.getRaisedAmount() >= campaign.getTargetAmount())
+                .ifPresent(campaign -> close(List.of(campaign.getId()), null, "funded"));
+        } catch (RuntimeException ex) {
+            log.error("Failed to close funded campaign. campaignId={}", event.campaignId(), ex);
+        }
+    }
+
+    // The cached view only has this node's pending deltas, so a target crossed by several nodes' donations
+    // together is first visible in the database once they flush. Whoever flushes last sees the full total.
+    @EventListener
+    public void onTotalsFlushed(CampaignTotalsFlushedEvent event) {
+        if (enabled) {
+            totalsChanged.addAll(event.campaignIds());
+        }
+    }
+
+    // Checks only the campaigns flushed since the last tick, by _id, instead of scanning every active one
+    private void closeFunded() {
+        if (totalsChanged.isEmpty()) {
+            return;
+        }
+        // An id re-added before removeAll came from a flush that is already visible to the query below
+        List<String> changed = new ArrayList<>(totalsChanged);
+        totalsChanged.removeAll(changed);
+        try {
+            for (int i = 0; i < changed.size(); i += batchSize) {
+                Query query = new Query(Criteria.where("_id").in(changed.subList(i, Math.min(i + batchSize, changed.size())))
+                    .and("status").is(Campaign.STATUS_ACTIVE).and("targetAmount").gt(0)
+                    .andOperator(Criteria.expr(ComparisonOperators.valueOf("raisedAmount").greaterThanEqualTo("targetAmount"))));
+                query.fields().include("_id");
+                List<String> funded = mongoTemplate.find(query, Campaign.class).stream().map(Campaign::getId).toList();
+                if (!funded.isEmpty()) {
+                    close(funded, null, "funded");
+                }
+            }
+        } catch (RuntimeException ex) {
+            // Checked again on the next tick
+            totalsChanged.addAll(changed);
+            log.error("Funded campaign check failed. campaigns={}", changed.size(), ex);
+        }
+    }
+
+    // Campaigns created before status was always set are treated as active
+    private void backfillStatus() {
+        if (statusBackfilled) {
+            return;
+        }
+        UpdateResult result = mongoTemplate.updateMulti(
+            new Query(Criteria.where("status").in((Object) null)),
+            Update.update("status", Campaign.STATUS_ACTIVE).inc("version", 1),
+            Campaign.class);
+        statusBackfilled = true;
+        if (result.getModifiedCount() > 0) {
+            log.info("Backfilled campaign status. count={}", result.getModifiedCount());
+        }
+    }
+
+    // extraCondition re-checks the reason (e.g. deadline passed) in the same query; null for none
+    private void close(List<String> ids, Criteria extraCondition, String reason) {
+        // Read the versions first; the update re-checks status, so a concurrent close on another node is harmless
+        Query versionsQuery = new Query(activeAmong(ids, extraCondition));
+        versionsQuery.fields().include("version");
+        Map<String, Long> versionBefore = new HashMap<>();
+        for (Campaign campaign : mongoTemplate.find(versionsQuery, Campaign.class)) {
+            versionBefore.put(campaign.getId(), campaign.getVersion() != null ? campaign.getVersion() : 0L);
+        }
+        if (versionBefore.isEmpty()) {
+            return;
+        }
+        List<String> closingIds = new ArrayList<>(versionBefore.keySet());
+        UpdateResult result = mongoTemplate.updateMulti(
+            new Query(activeAmong(closingIds, extraCondition)),
+            Update.update("status", Campaign.STATUS_CLOSED).inc("version", 1),
+            Campaign.class);
+        log.info("Closed campaigns. reason={}, count={}", reason, result.getModifiedCount());
+        if (result.getModifiedCount() == 0) {
+            return;
+        }
+        // Only campaigns this update moved (closed, exactly one version later) get an event; ones edited or
+        // closed elsewhere in between publish their own
+        List<Campaign> closed = mongoTemplate.find(
+            new Query(Criteria.where("_id").in(closingIds).and("status").is(Campaign.STATUS_CLOSED)), Campaign.class);
+        for (Campaign campaign : closed) {
+            Long version = campaign.getVersion();
+            if (version != null && version == versionBefore.get(campaign.getId()) + 1) {
+                eventPublisher.publishEvent(new CampaignChangedEvent(campaign.getId(), CampaignChangedEvent.Type.UPDATED, campaign));
+            }
+        }
+    }
+
+    private Criteria activeAmong(List<String> ids, Criteria extraCondition) {
+        Criteria criteria = Criteria.where("_id").in(ids).and("status").is(Campaign.STATUS_ACTIVE);
+        return extraCondition == null ? criteria : new Criteria().andOperator(criteria, extraCondition);
+    }
+
+    // Caller holds the monitor
+    private void schedule(String campaignId, long at) {
+        Long previous = scheduled.put(campaignId, at);
+        if (previous == null || previous != at) {
+            heap.add(new Deadline(campaignId, at));
+        }
+    }
+}
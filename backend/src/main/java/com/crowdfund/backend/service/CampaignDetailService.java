@@ -0,0 +1,139 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignDetail;
+import com.crowdfund.backend.dto.RecentDonation;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.repository.DonationRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Builds the campaign page in one round trip. The campaign, recent donations, donation count and
+// unique-donor count (all over SUCCESS donations) are independent reads, so they run in parallel and the response costs the
+// slowest of them rather than the sum.
+@Service
+public class CampaignDetailService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignDetailService.class);
+
+    private final CampaignManager campaignManager;
+    private final DonationRepository donationRepository;
+    private final MongoTemplate mongoTemplate;
+    private final int defaultDonations;
+    private final int maxDonations;
+    private final long timeoutMs;
+    private final ThreadPoolExecutor executor;
+
+    public CampaignDetailService(
+            CampaignManager campaignManager,
+            DonationRepository donationRepository,
+            MongoTemplate mongoTemplate,
+            @Value("${app.campaigns.detail.donations:10}") int defaultDonations,
+            @Value("${app.campaigns.detail.max-donations:50}") int maxDonations,
+            @Value("${app.campaigns.detail.threads:8}") int threads,
+            @Value("${app.campaigns.detail.queue:200}") int queueSize,
+            @Value("${app.campaigns.detail.timeout:5s}") Duration timeout) {
+        this.campaignManager = campaignManager;
+        this.donationRepository = donationRepository;
+        this.mongoTemplate = mongoTemplate;
+        this.defaultDonations = defaultDonations;
+        this.maxDonations = maxDonations;
+        this.timeoutMs = timeout.toMillis();
+        AtomicInteger counter = new AtomicInteger();
+        // Bounded on both threads and queue; when full the request thread runs the read itself,
+        // which degrades to the old sequential latency instead of rejecting
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, queueSize)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "campaign-detail-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public CampaignDetail getDetail(String campaignId, Integer donations) {
+        int limit = donations == null || donations < 0 ? defaultDonations : Math.min(donations, maxDonations);
+
+        CompletableFuture<Campaign> campaign = async(() -> campaignManager.getCampaignById(campaignId)
+            .orElseThrow(() -> new RuntimeException("Campaign not found: " + campaignId)));
+        CompletableFuture<List<RecentDonation>> recent = limit == 0
+            ? CompletableFuture.completedFuture(List.of())
+            : async(() -> recentDonations(campaignId, limit));
+        CompletableFuture<Long> count = async(() -> donationRepository.countByCampaignIdAndPaymentStatus(campaignId, "SUCCESS"));
+        CompletableFuture<Long> uniqueDonors = async(() -> countUniqueDonors(campaignId));
+
+        try {
+            CompletableFuture.allOf(campaign, recent, count, uniqueDonors).get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            log.warn("Campaign detail timed out. campaignId={}, timeoutMs={}", campaignId, timeoutMs);
+            throw new RuntimeException("Campaign detail timed out for campaign " + campaignId);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading campaign " + campaignId);
+        } catch (ExecutionException ex) {
+            // Surface the original exception so the usual handlers map it
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new CompletionException(ex.getCause());
+        }
+        return new CampaignDetail(campaign.join(), recent.join(), count.join(), uniqueDonors.join());
+    }
+
+    private List<RecentDonation> recentDonations(String campaignId, int limit) {
+        List<RecentDonation> donations = donationRepository.findRecentByCampaign(campaignId, PageRequest.of(0, limit));
+        donations.forEach(donation -> {
+            if (donation.isAnonymous() || donation.getDonorName() == null || donation.getDonorName().isBlank()) {
+                donation.setDonorName(RecentDonation.ANONYMOUS);
+            }
+        });
+        return donations;
+    }
+
+    // Same donor identity as the top-donor board: the user id, or the name for guest donations.
+    // Donations with neither are not attributable to anyone and are left out, as on the board.
+    private long countUniqueDonors(String campaignId) {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("campaignId").is(campaignId).and("paymentStatus").is("SUCCESS")),
+            Aggregation.project().and(ConditionalOperators.ifNull("userId").thenValueOf("donorName")).as("donor"),
+            Aggregation.match(Criteria.where("donor").ne(null)),
+            Aggregation.group("donor"),
+            Aggregation.count().as("donors"));
+        Document result = mongoTemplate.aggregate(aggregation, Donation.class, Document.class).getUniqueMappedResult();
+        return result == null ? 0 : ((Number) result.get("donors")).longValue();
+    }
+
+    private <T> CompletableFuture<T> async(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
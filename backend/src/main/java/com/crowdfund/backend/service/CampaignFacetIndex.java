@@ -0,0 +1,390 @@
+package com.crowdfund.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.FacetPage;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.event.DonationRecordedEvent;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.model.Campaign;
+
+// Roaring bitmap per facet value over dense campaign ordinals. Filtering is OR within a facet and
+// AND across facets; counts are cardinalities. Deadline buckets are relative to now, so they are
+// recomputed on a schedule as well as on writes. Events only cover this node's writes and donations,
+// so a periodic rebuild from Mongo brings in other nodes' edits and corrects drifted funding buckets.
+@Service
+public class CampaignFacetIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignFacetIndex.class);
+
+    public static final String STATUS = "status";
+    public static final String NGO = "ngo";
+    public static final String FUNDING = "funding";
+    public static final String DEADLINE = "deadline";
+    public static final String TARGET = "target";
+    private static final List<String> FACETS = List.of(STATUS, NGO, FUNDING, DEADLINE, TARGET);
+
+    private static final int MAX_NGO_VALUES = 50;
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final DonationAggregator donationAggregator;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Writes that arrive while a rebuild is streaming are replayed onto the rebuilt index
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public CampaignFacetIndex(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            DonationAggregator donationAggregator,
+            @Value("${app.campaigns.page.default-size:20}") int defaultPageSize,
+            @Value("${app.campaigns.page.max-size:100}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.donationAggregator = donationAggregator;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    // Newest campaigns first; facet counts use multi-select semantics, i.e. each facet is counted
+    // against every other active filter but not its own, so sibling values stay selectable
+    public FacetPage<CampaignSummary> browse(Map<String, List<String>> filters, Integer page, Integer size) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        filters.keySet().forEach(facet -> {
+            if (!FACETS.contains(facet)) {
+                throw new BadRequestException("Unknown facet: " + facet);
+            }
+        });
+
+        List<String> pageIds = new ArrayList<>(pageSize);
+        Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+        long total;
+        lock.readLock().lock();
+        try {
+            Map<String, RoaringBitmap> selections = new HashMap<>();
+            filters.forEach((facet, values) -> {
+                if (values != null && !values.isEmpty()) {
+                    selections.put(facet, index.union(facet, values));
+                }
+            });
+
+            RoaringBitmap matches = index.live.clone();
+            selections.values().forEach(matches::and);
+            total = matches.getLongCardinality();
+
+            IntIterator newestFirst = matches.getReverseIntIterator();
+            long skip = (long) pageNumber * pageSize;
+            while (newestFirst.hasNext() && pageIds.size() < pageSize) {
+                int doc = newestFirst.next();
+                if (skip-- <= 0) {
+                    pageIds.add(index.docToId.get(doc));
+                }
+            }
+
+            for (String facet : FACETS) {
+                RoaringBitmap base = index.live.clone();
+                selections.forEach((other, selected) -> {
+                    if (!other.equals(facet)) {
+                        base.and(selected);
+                    }
+                });
+                counts.put(facet, index.counts(facet, base));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new FacetPage<>(campaignManager.getSummariesByIds(pageIds), total, pageNumber, pageSize, counts);
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        Campaign campaign = event.campaign() != null ? new Campaign(event.campaign()) : null;
+        if (campaign != null) {
+            campaign.setRaisedAmount(campaign.getRaisedAmount() + donationAggregator.pendingAmount(campaign.getId()));
+        }
+        write(target -> {
+            if (campaign == null || event.type() == CampaignChangedEvent.Type.DELETED) {
+                target.remove(event.campaignId());
+            } else {
+                target.put(campaign, System.currentTimeMillis());
+            }
+        });
+    }
+
+    @EventListener
+    public void onDonationRecorded(DonationRecordedEvent event) {
+        // Only DonationManager donations move raisedAmount
+        if (event.source() == DonationRecordedEvent.Source.DONATION) {
+            write(target -> target.addRaised(event.campaignId(), event.amount()));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.deadline-refresh:10m}")
+    public void refreshDeadlineBuckets() {
+        write(target -> target.refreshDeadlines(System.currentTimeMillis()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                log.error("Campaign facet index rebuild failed", ex);
+            }
+        }, "campaign-facet-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.facets.rebuild-interval:5m}",
+        initialDelayString = "${app.facets.rebuild-interval:5m}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Campaign facet index rebuild failed; keeping the current index", ex);
+        }
+    }
+
+    // Serialized: the startup and scheduled rebuilds must not share pendingDuringRebuild
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            // Oldest first so ordinals follow creation order and reverse iteration is newest first
+            Query query = new Query().with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"));
+            query.fields().include("status", "ngoName", "targetAmount", "raisedAmount", "deadline", "createdAt");
+            long now = System.currentTimeMillis();
+            try (Stream<Campaign> campaigns = mongoTemplate.stream(query, Campaign.class)) {
+                campaigns.forEach(campaign -> {
+                    campaign.setRaisedAmount(campaign.getRaisedAmount() + donationAggregator.pendingAmount(campaign.getId()));
+                    rebuilt.put(campaign, now);
+                });
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(change -> change.accept(rebuilt));
+            pendingDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Campaign facet index rebuilt. campaigns={}, tookMs={}",
+            rebuilt.live.getCardinality(), System.currentTimeMillis() - started);
+    }
+
+    private void write(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String fundingBucket(double raised, double target) {
+        if (target <= 0) return "unknown";
+        double percent = raised / target * 100;
+        if (percent < 25) return "0-25";
+        if (percent < 50) return "25-50";
+        if (percent < 75) return "50-75";
+        if (percent < 100) return "75-100";
+        return "100+";
+    }
+
+    static String deadlineBucket(Date deadline, long now) {
+        if (deadline == null) return "none";
+        long remaining = deadline.getTime() - now;
+        if (remaining <= 0) return "ended";
+        if (remaining <= TimeUnit.DAYS.toMillis(7)) return "this-week";
+        if (remaining <= TimeUnit.DAYS.toMillis(30)) return "this-month";
+        return "later";
+    }
+
+    static String targetBucket(double target) {
+        if (target < 10_000) return "0-10000";
+        if (target < 50_000) return "10000-50000";
+        if (target < 100_000) return "50000-100000";
+        if (target < 500_000) return "100000-500000";
+        return "500000+";
+    }
+
+    private record DocState(double raised, double target, Date deadline, Map<String, String> values) {}
+
+    // Not thread-safe; guarded by the service's read/write lock
+    private static final class Index {
+
+        private final Map<String, Integer> idToDoc = new HashMap<>();
+        private final List<String> docToId = new ArrayList<>();
+        private final Map<Integer, DocState> states = new HashMap<>();
+        private final RoaringBitmap live = new RoaringBitmap();
+        private final Map<String, Map<String, RoaringBitmap>> bitmaps = new HashMap<>();
+
+        Index() {
+            FACETS.forEach(facet -> bitmaps.put(facet, new TreeMap<>()));
+        }
+
+        void put(Campaign campaign, long now) {
+            Integer doc = idToDoc.get(campaign.getId());
+            if (doc == null) {
+                doc = docToId.size();
+                docToId.add(campaign.getId());
+                idToDoc.put(campaign.getId(), doc);
+            }
+            Map<String, String> values = new HashMap<>();
+            values.put(STATUS, campaign.getStatus() != null ? campaign.getStatus().toLowerCase(Locale.ROOT) : "unknown");
+            if (campaign.getNgoName() != null && !campaign.getNgoName().isBlank()) {
+                values.put(NGO, campaign.getNgoName().trim());
+            }
+            values.put(FUNDING, fundingBucket(campaign.getRaisedAmount(), campaign.getTargetAmount()));
+            values.put(DEADLINE, deadlineBucket(campaign.getDeadline(), now));
+            values.put(TARGET, targetBucket(campaign.getTargetAmount()));
+            set(doc, new DocState(campaign.getRaisedAmount(), campaign.getTargetAmount(), campaign.getDeadline(), values));
+        }
+
+        void addRaised(String campaignId, double amount) {
+            Integer doc = idToDoc.get(campaignId);
+            DocState state = doc != null ? states.get(doc) : null;
+            if (state == null) {
+                return;
+            }
+            double raised = state.raised() + amount;
+            Map<String, String> values = new HashMap<>(state.values());
+            values.put(FUNDING, fundingBucket(raised, state.target()));
+            set(doc, new DocState(raised, state.target(), state.deadline(), values));
+        }
+
+        void refreshDeadlines(long now) {
+            new ArrayList<>(states.entrySet()).forEach(entry -> {
+                DocState state = entry.getValue();
+                String bucket = deadlineBucket(state.deadline(), now);
+                if (!bucket.equals(state.values().get(DEADLINE))) {
+                    Map<String, String> values = new HashMap<>(state.values());
+                    values.put(DEADLINE, bucket);
+                    set(entry.getKey(), new DocState(state.raised(), state.target(), state.deadline(), values));
+                }
+            });
+        }
+
+        void remove(String campaignId) {
+            Integer doc = idToDoc.get(campaignId);
+            if (doc == null) {
+                return;
+            }
+            DocState previous = states.remove(doc);
+            if (previous != null) {
+                clear(doc, previous.values());
+            }
+            live.remove(doc);
+        }
+
+        private void set(int doc, DocState state) {
+            DocState previous = states.put(doc, state);
+            if (previous != null) {
+                clear(doc, previous.values());
+            }
+            state.values().forEach((facet, value) ->
+                bitmaps.get(facet).computeIfAbsent(value, key -> new RoaringBitmap()).add(doc));
+            live.add(doc);
+        }
+
+        private void clear(int doc, Map<String, String> values) {
+            values.forEach((facet, value) -> {
+                Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+                RoaringBitmap bitmap = byValue.get(value);
+                if (bitmap != null) {
+                    bitmap.remove(doc);
+                    if (bitmap.isEmpty()) {
+                        byValue.remove(value);
+                    }
+                }
+            });
+        }
+
+        RoaringBitmap union(String facet, Collection<String> values) {
+            RoaringBitmap result = new RoaringBitmap();
+            Map<String, RoaringBitmap> byValue = bitmaps.get(facet);
+            for (String value : values) {
+                RoaringBitmap bitmap = byValue.get(facet.equals(STATUS) ? value.toLowerCase(Locale.ROOT) : value);
+                if (bitmap != null) {
+                    result.or(bitmap);
+                }
+            }
+            return result;
+        }
+
+        Map<String, Long> counts(String facet, RoaringBitmap base) {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            bitmaps.get(facet).forEach((value, bitmap) -> {
+                long count = RoaringBitmap.andCardinality(base, bitmap);
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+            if (facet.equals(NGO) && counts.size() > MAX_NGO_VALUES) {
+                // NGOs are open-ended; return the largest ones only
+                Map<String, Long> top = new LinkedHashMap<>();
+                counts.entrySet().stream()
+                    .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                    .limit(MAX_NGO_VALUES)
+                    .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+                return top;
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.crowdfund.backend.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignImportReport;
+import com.crowdfund.backend.dto.CampaignImportRow;
+import com.crowdfund.backend.dto.DataFormat;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.mongodb.bulk.BulkWriteError;
+
+// Bulk campaign onboarding. The body is read row by row and valid rows are inserted in unordered
+// batches, so only one batch (plus the per-row report) is held in memory at a time.
+@Service
+public class CampaignImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignImportService.class);
+
+    private record Pending(int row, Campaign campaign) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectReader jsonReader;
+    private final ObjectReader csvReader;
+    private final int batchSize;
+    private final int maxRows;
+
+    public CampaignImportService(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            ApplicationEventPublisher eventPublisher,
+            ObjectMapper objectMapper,
+            @Value("${app.campaigns.import.batch-size:200}") int batchSize,
+            @Value("${app.campaigns.import.max-rows:10000}") int maxRows) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.eventPublisher = eventPublisher;
+        this.jsonReader = objectMapper.readerFor(CampaignImportRow.class);
+        this.csvReader = new CsvMapper()
+            .enable(CsvParser.Feature.TRIM_SPACES)
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .readerFor(CampaignImportRow.class)
+            .with(CsvSchema.emptySchema().withHeader());
+        this.batchSize = Math.max(1, batchSize);
+        this.maxRows = maxRows;
+    }
+
+    // Rows are created on behalf of importerId; a row may omit creatorId but not name someone else
+    public CampaignImportReport importCampaigns(InputStream body, DataFormat format, String importerId) throws IOException {
+        long started = System.currentTimeMillis();
+        Batch batch = new Batch(new CampaignImportReport(), importerId);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            if (format == DataFormat.CSV) {
+                readCsv(reader, batch);
+            } else {
+                readNdjson(reader, batch);
+            }
+        }
+        batch.flush();
+        CampaignImportReport report = batch.report;
+        // Failures are reported as they are read, successes after their batch is written
+        report.getRows().sort(Comparator.comparingInt(CampaignImportReport.RowResult::getRow));
+        log.info("Campaign import finished. format={}, received={}, imported={}, failed={}, truncated={}, tookMs={}",
+            format, report.getReceived(), report.getImported(), report.getFailed(), report.isTruncated(),
+            System.currentTimeMillis() - started);
+        return report;
+    }
+
+    private void readNdjson(BufferedReader reader, Batch batch) throws IOException {
+        int row = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (++row > maxRows) {
+                batch.report.setTruncated(true);
+                return;
+            }
+            try {
+                batch.accept(row, jsonReader.readValue(line));
+            } catch (JsonProcessingException ex) {
+                batch.fail(row, "Invalid JSON: " + ex.getOriginalMessage());
+            }
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Batch batch) throws IOException {
+        int row = 0;
+        try (MappingIterator<CampaignImportRow> rows = csvReader.readValues(reader)) {
+            while (true) {
+                try {
+                    if (!rows.hasNextValue()) {
+                        return;
+                    }
+                } catch (JsonProcessingException ex) {
+                    // Broken quoting leaves no reliable record boundary; report it and stop reading
+                    batch.fail(row + 1, "Invalid CSV: " + ex.getOriginalMessage());
+                    return;
+                }
+                if (++row > maxRows) {
+                    batch.report.setTruncated(true);
+                    return;
+                }
+                try {
+                    batch.accept(row, rows.nextValue());
+                } catch (JsonProcessingException ex) {
+                    // The iterator skips to the next record, so one bad cell fails only its row
+                    batch.fail(row, "Invalid value: " + ex.getOriginalMessage());
+                }
+            }
+        }
+    }
+
+    private static String validate(CampaignImportRow row, String importerId) {
+        if (row.getCreatorId() != null && !row.getCreatorId().isBlank() && !row.getCreatorId().equals(importerId)) {
+            return "creatorId must be the importing user";
+        }
+        if (row.getTitle() == null || row.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (row.getTargetAmount() == null || row.getTargetAmount() <= 0) {
+            return "targetAmount must be positive";
+        }
+        if (row.getDeadline() != null && row.getDeadline().before(new Date())) {
+            return "deadline is in the past";
+        }
+        return null;
+    }
+
+    // Collects valid rows and writes them once batchSize is reached
+    private final class Batch {
+
+        private final CampaignImportReport report;
+        private final String importerId;
+        private final List<Pending> pending = new ArrayList<>();
+
+        Batch(CampaignImportReport report, String importerId) {
+            this.report = report;
+            this.importerId = importerId;
+        }
+
+        void accept(int row, CampaignImportRow input) {
+            String error = validate(input, importerId);
+            if (error != null) {
+                fail(row, error);
+                return;
+            }
+            Campaign campaign = new Campaign();
+            // Ids are assigned up front so the report can name them without reading the inserts back
+            campaign.setId(new ObjectId().toHexString());
+            campaign.setTitle(input.getTitle().trim());
+            campaign.setDescription(input.getDescription());
+            campaign.setTargetAmount(input.getTargetAmount());
+            campaign.setDeadline(input.getDeadline());
+            campaign.setCreatorId(importerId);
+            campaign.setNgoName(input.getNgoName());
+            campaign.setImageUrl(input.getImageUrl());
+            campaign.setStatus(Campaign.STATUS_ACTIVE);
+            campaign.setCreatedAt(new Date());
+            campaign.setVersion(0L);
+            pending.add(new Pending(row, campaign));
+            if (pending.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        void fail(int row, String error) {
+            report.add(CampaignImportReport.RowResult.failed(row, error));
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            List<Campaign> campaigns = pending.stream().map(Pending::campaign).toList();
+            campaignManager.normalizeForInsert(campaigns);
+
+            Set<Integer> failedIndexes = new HashSet<>();
+            String batchError = null;
+            try {
+                mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class)
+                    .insert(campaigns)
+                    .execute();
+            } catch (BulkOperationException ex) {
+                // Unordered: every row not listed here was written
+                for (BulkWriteError error : ex.getErrors()) {
+                    failedIndexes.add(error.getIndex());
+                    fail(pending.get(error.getIndex()).row(), error.getMessage());
+                }
+            } catch (DataAccessException ex) {
+                log.error("Campaign import batch failed. size={}", campaigns.size(), ex);
+                batchError = "Database write failed";
+            }
+
+            for (int i = 0; i < pending.size(); i++) {
+                Pending entry = pending.get(i);
+                if (batchError != null) {
+                    fail(entry.row(), batchError);
+                } else if (!failedIndexes.contains(i)) {
+                    Campaign campaign = entry.campaign();
+                    report.add(CampaignImportReport.RowResult.imported(entry.row(), campaign.getId()));
+                    eventPublisher.publishEvent(new CampaignChangedEvent(campaign.getId(), CampaignChangedEvent.Type.CREATED, campaign));
+                }
+            }
+            pending.clear();
+        }
+    }
+}
@@ -2,17 +2,31 @@ package com.crowdfund.backend.service;
 
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.crowdfund.backend.dto.CampaignPatchRequest;
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.CursorPage;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.exception.ConflictException;
 import com.crowdfund.backend.model.Campaign;
-import com.crowdfund.backend.model.User;
 import com.crowdfund.backend.repository.CampaignRepository;
-import com.crowdfund.backend.repository.UserRepository;
+import com.crowdfund.backend.util.ETags;
+import com.crowdfund.backend.util.PageCursor;
 
 @Service
 public class CampaignManager {
@@ -23,63 +37,199 @@ public class CampaignManager {
     private CampaignRepository campaignRepository;
 
     @Autowired
-    private UserRepository userRepository;
+    private CreatorNameResolver creatorNameResolver;
+
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DonationAggregator donationAggregator;
+
+    @Value("${app.campaigns.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.campaigns.page.max-size:100}")
+    private int maxPageSize;
 
     public Campaign createCampaign(Campaign campaign) {
         if (campaign.getCreatedAt() == null) {
             campaign.setCreatedAt(new Date());
         }
+        if (campaign.getStatus() == null || campaign.getStatus().isBlank()) {
+            campaign.setStatus(Campaign.STATUS_ACTIVE);
+        }
+        // A client-supplied version would make save() look for an existing document
+        campaign.setVersion(null);
         campaign.setImageUrl(normalizeImageUrl(campaign.getImageUrl()));
         campaign.setNgoName(resolveNgoName(campaign));
         Campaign saved = campaignRepository.save(campaign);
         log.info("Campaign saved. id={}, title={}, ngoName={}, imageUrl={}",
             saved.getId(), saved.getTitle(), saved.getNgoName(), saved.getImageUrl());
+        eventPublisher.publishEvent(new CampaignChangedEvent(saved.getId(), CampaignChangedEvent.Type.CREATED, saved));
         return saved;
     }
 
-    public List<Campaign> getAllCampaigns() {
-        List<Campaign> campaigns = campaignRepository.findAll();
-        campaigns.forEach(this::normalizeAndBackfillCampaign);
-        log.info("Fetched campaigns count={}", campaigns.size());
-        campaigns.forEach(campaign ->
-            log.debug("Campaign from DB. id={}, title={}, ngoName={}, imageUrl={}",
-                campaign.getId(), campaign.getTitle(), campaign.getNgoName(), campaign.getImageUrl()));
-        return campaigns;
+    public CursorPage<CampaignSummary> listCampaigns(String cursor, Integer size, String status) {
+        int pageSize = resolvePageSize(size);
+        PageCursor position = PageCursor.decode(cursor);
+        // Fetch one extra row to learn whether another page exists without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<CampaignSummary> campaigns;
+        if (status == null || status.isBlank()) {
+            campaigns = position == null
+                ? campaignRepository.findFirstPage(limit)
+                : campaignRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        } else {
+            campaigns = position == null
+                ? campaignRepository.findFirstPageByStatus(status, limit)
+                : campaignRepository.findPageByStatusAfter(status, position.createdAt(), position.id(), limit);
+        }
+
+        String nextCursor = null;
+        if (campaigns.size() > pageSize) {
+            campaigns = campaigns.subList(0, pageSize);
+            CampaignSummary last = campaigns.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+
+        prepareSummaries(campaigns);
+        log.info("Fetched campaign page count={}, hasMore={}", campaigns.size(), nextCursor != null);
+        return new CursorPage<>(campaigns, nextCursor);
     }
 
     public Optional<Campaign> getCampaignById(String id) {
-        Optional<Campaign> campaign = campaignRepository.findById(id);
-        campaign.ifPresent(this::normalizeAndBackfillCampaign);
-        return campaign;
-    }
-
-    // ✅ Update Campaign
-    public Campaign updateCampaign(String id, Campaign updatedCampaign) {
-        return campaignRepository.findById(id).map(existing -> {
-            existing.setTitle(updatedCampaign.getTitle());
-            existing.setDescription(updatedCampaign.getDescription());
-            existing.setTargetAmount(updatedCampaign.getTargetAmount());
-            existing.setDeadline(updatedCampaign.getDeadline());
-            existing.setImageUrl(normalizeImageUrl(updatedCampaign.getImageUrl()));
-            if (updatedCampaign.getNgoName() != null && !updatedCampaign.getNgoName().isBlank()) {
-                existing.setNgoName(updatedCampaign.getNgoName());
-            } else if (existing.getNgoName() == null || existing.getNgoName().isBlank()) {
-                existing.setNgoName(resolveNgoName(existing));
+        return campaignCache.get(id, key -> campaignRepository.findById(key)
+            .map(found -> {
+                normalizeForRead(List.of(found));
+                return found;
+            })
+            .orElse(null))
+            .map(this::withPendingDonations);
+    }
+
+    // ETag of GET /api/campaigns/{id} without loading the document: cached copy if present,
+    // otherwise a version + raisedAmount projection. Empty when the campaign does not exist.
+    public Optional<String> currentETag(String id) {
+        Optional<Campaign> stored = campaignCache.getIfPresent(id);
+        if (stored.isEmpty()) {
+            stored = Optional.ofNullable(campaignRepository.findValidatorFields(id));
+        }
+        return stored.map(campaign -> eTagOf(withPendingDonations(campaign)));
+    }
+
+    // For a campaign as returned to clients, i.e. with pending donations already merged
+    public String eTagOf(Campaign campaign) {
+        long version = campaign.getVersion() != null ? campaign.getVersion() : 0L;
+        return ETags.forCampaign(version, Math.round(campaign.getRaisedAmount() * 100));
+    }
+
+    // Batch read for index-backed endpoints; keeps the caller's order and skips ids that no longer exist
+    public List<CampaignSummary> getSummariesByIds(List<String> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<String, CampaignSummary> byId = campaignRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(CampaignSummary::getId, Function.identity()));
+        List<CampaignSummary> summaries = ids.stream().map(byId::get).filter(Objects::nonNull).collect(Collectors.toList());
+        prepareSummaries(summaries);
+        return summaries;
+    }
+
+    // ✅ Full campaigns of one creator (NGO dashboard)
+    public List<Campaign> getCampaignsByCreator(String creatorId) {
+        List<Campaign> campaigns = campaignRepository.findByCreatorIdOrderByCreatedAtDesc(creatorId);
+        normalizeForRead(campaigns);
+        campaigns.forEach(campaign -> campaign.setRaisedAmount(
+            campaign.getRaisedAmount() + donationAggregator.pendingAmount(campaign.getId())));
+        return campaigns;
+    }
+
+    // ✅ Update Campaign (PUT): replaces the editable fields with one $set; raisedAmount, status and
+    // createdAt are never written here, so concurrent donations are not overwritten. Guarded by the
+    // caller's version when one is sent; without it PUT keeps its original last-write-wins contract.
+    public Campaign updateCampaign(String id, Campaign updatedCampaign, Long expectedVersion) {
+        Update update = new Update()
+            .set("title", updatedCampaign.getTitle())
+            .set("description", updatedCampaign.getDescription())
+            .set("targetAmount", updatedCampaign.getTargetAmount())
+            .set("deadline", updatedCampaign.getDeadline())
+            .set("imageUrl", normalizeImageUrl(updatedCampaign.getImageUrl()));
+        if (updatedCampaign.getNgoName() != null && !updatedCampaign.getNgoName().isBlank()) {
+            update.set("ngoName", updatedCampaign.getNgoName());
+        }
+        return applyUpdate(id, expectedVersion, update);
+    }
+
+    // ✅ Patch Campaign: only the supplied fields, guarded by the caller's version
+    public Campaign patchCampaign(String id, CampaignPatchRequest patch, Long expectedVersion) {
+        if (expectedVersion == null) {
+            throw new BadRequestException("If-Match header or version is required");
+        }
+        Update update = new Update();
+        if (patch.getTitle() != null) update.set("title", patch.getTitle());
+        if (patch.getDescription() != null) update.set("description", patch.getDescription());
+        if (patch.getTargetAmount() != null) {
+            if (patch.getTargetAmount() <= 0) {
+                throw new BadRequestException("targetAmount must be positive");
             }
-            return campaignRepository.save(existing);
-        }).orElseThrow(() -> new RuntimeException("Campaign not found with id " + id));
+            update.set("targetAmount", patch.getTargetAmount());
+        }
+        if (patch.getDeadline() != null) update.set("deadline", patch.getDeadline());
+        if (patch.getImageUrl() != null) update.set("imageUrl", normalizeImageUrl(patch.getImageUrl()));
+        if (patch.getNgoName() != null && !patch.getNgoName().isBlank()) update.set("ngoName", patch.getNgoName());
+        if (update.getUpdateObject().isEmpty()) {
+            throw new BadRequestException("No updatable fields in patch");
+        }
+        return applyUpdate(id, expectedVersion, update);
+    }
+
+    private Campaign applyUpdate(String id, Long expectedVersion, Update update) {
+        Campaign saved = campaignRepository.updateIfVersion(id, expectedVersion, update);
+        if (saved == null) {
+            // Only a failed write pays for this read: tell a missing campaign from a stale version
+            Long current = campaignRepository.findVersion(id);
+            if (current == null) {
+                throw new RuntimeException("Campaign not found with id " + id);
+            }
+            throw new ConflictException("Campaign " + id + " was modified (current version " + current + ")");
+        }
+        normalizeForRead(List.of(saved));
+        eventPublisher.publishEvent(new CampaignChangedEvent(id, CampaignChangedEvent.Type.UPDATED, saved));
+        return withPendingDonations(saved);
     }
 
     // ✅ Delete Campaign
     public boolean deleteCampaign(String id) {
-    if (campaignRepository.existsById(id)) {
-        campaignRepository.deleteById(id);
-        return true;
+        if (campaignRepository.existsById(id)) {
+            campaignRepository.deleteById(id);
+            eventPublisher.publishEvent(new CampaignChangedEvent(id, CampaignChangedEvent.Type.DELETED, null));
+            return true;
+        }
+        return false;
     }
-    return false;
-}
 
-    private String normalizeImageUrl(String imageUrl) {
+    // Cached instances are shared, so pending write-behind deltas are merged into a copy
+    private Campaign withPendingDonations(Campaign campaign) {
+        double pending = donationAggregator.pendingAmount(campaign.getId());
+        if (pending == 0) {
+            return campaign;
+        }
+        Campaign merged = new Campaign(campaign);
+        merged.setRaisedAmount(campaign.getRaisedAmount() + pending);
+        return merged;
+    }
+
+    private int resolvePageSize(Integer size) {
+        if (size == null || size < 1) {
+            return defaultPageSize;
+        }
+        return Math.min(size, maxPageSize);
+    }
+
+    static String normalizeImageUrl(String imageUrl) {
         if (imageUrl == null || imageUrl.isBlank()) {
             return imageUrl;
         }
@@ -89,23 +239,24 @@ public class CampaignManager {
         return imageUrl;
     }
 
-    private void normalizeAndBackfillCampaign(Campaign campaign) {
-        String normalizedImageUrl = normalizeImageUrl(campaign.getImageUrl());
-        String resolvedNgoName = resolveNgoName(campaign);
+    // Read-only view fix-ups; persisted data is repaired by CampaignBackfillMigration
+    void normalizeForRead(List<Campaign> campaigns) {
+        campaigns.forEach(campaign -> campaign.setImageUrl(normalizeImageUrl(campaign.getImageUrl())));
+        creatorNameResolver.fillMissingNgoNames(campaigns);
+    }
 
-        boolean changed = false;
-        if (!equalsNullable(normalizedImageUrl, campaign.getImageUrl())) {
-            campaign.setImageUrl(normalizedImageUrl);
-            changed = true;
-        }
-        if (!equalsNullable(resolvedNgoName, campaign.getNgoName())) {
-            campaign.setNgoName(resolvedNgoName);
-            changed = true;
-        }
+    // Same fix-ups createCampaign applies, for a batch of new campaigns: one user lookup for all
+    // missing ngoNames
+    void normalizeForInsert(List<Campaign> campaigns) {
+        normalizeForRead(campaigns);
+    }
 
-        if (changed && campaign.getId() != null) {
-            campaignRepository.save(campaign);
-        }
+    void prepareSummaries(List<CampaignSummary> summaries) {
+        summaries.forEach(summary -> {
+            summary.setImageUrl(normalizeImageUrl(summary.getImageUrl()));
+            summary.setRaisedAmount(summary.getRaisedAmount() + donationAggregator.pendingAmount(summary.getId()));
+        });
+        creatorNameResolver.fillMissingSummaryNgoNames(summaries);
     }
 
     private String resolveNgoName(Campaign campaign) {
@@ -115,14 +266,8 @@ public class CampaignManager {
         if (campaign.getCreatorId() == null || campaign.getCreatorId().isBlank()) {
             return campaign.getNgoName();
         }
-        Optional<User> creator = userRepository.findById(campaign.getCreatorId());
-        return creator.map(User::getName).orElse(campaign.getNgoName());
-    }
-
-    private boolean equalsNullable(String a, String b) {
-        if (a == null && b == null) return true;
-        if (a == null || b == null) return false;
-        return a.equals(b);
+        String creatorName = creatorNameResolver.resolveName(campaign.getCreatorId());
+        return creatorName != null ? creatorName : campaign.getNgoName();
     }
 
 }
@@ -0,0 +1,213 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignProgress;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.event.DonationRecordedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.repository.DonationRepository;
+import com.crowdfund.backend.repository.ReceiptRepository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+// One replay-latest sink per watched campaign. Each tick re-reads the campaign through CampaignManager
+// (cache + pending write-behind deltas), so totals match GET /{id} and pick up other nodes' flushes as
+// soon as the cache does (change-stream eviction or TTL); at most one update per campaign per interval. Local donation events bump the count
+// right away, and counts are recounted from Mongo on a slower interval to pick up other nodes.
+@Service
+public class CampaignProgressBroadcaster {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignProgressBroadcaster.class);
+
+    private static final String DONATION_SUCCESS = "SUCCESS";
+    private static final List<String> UNCOUNTED_RECEIPTS = List.of(Receipt.STATUS_FAILED, Receipt.STATUS_REFUNDED);
+
+    private final CampaignManager campaignManager;
+    private final DonationRepository donationRepository;
+    private final ReceiptRepository receiptRepository;
+    private final Duration heartbeat;
+    private final Map<String, Channel> channels = new ConcurrentHashMap<>();
+
+    public CampaignProgressBroadcaster(
+            CampaignManager campaignManager,
+            DonationRepository donationRepository,
+            ReceiptRepository receiptRepository,
+            @Value("${app.campaigns.progress.heartbeat:15s}") Duration heartbeat) {
+        this.campaignManager = campaignManager;
+        this.donationRepository = donationRepository;
+        this.receiptRepository = receiptRepository;
+        this.heartbeat = heartbeat;
+    }
+
+    public Flux<ServerSentEvent<CampaignProgress>> stream(String campaignId) {
+        // Resolve eagerly so an unknown id fails the request instead of opening an empty stream
+        Campaign campaign = campaignManager.getCampaignById(campaignId)
+            .orElseThrow(() -> new RuntimeException("Campaign not found: " + campaignId));
+
+        return Flux.using(
+            () -> acquire(campaign),
+            channel -> Flux.merge(
+                channel.sink.asFlux()
+                    // Slow clients skip straight to the newest value instead of buffering every update
+                    .onBackpressureLatest()
+                    .map(progress -> ServerSentEvent.<CampaignProgress>builder(progress).event("progress").build()),
+                Flux.interval(heartbeat)
+                    .map(tick -> ServerSentEvent.<CampaignProgress>builder().comment("heartbeat").build())
+                    // Stop the heartbeat once the channel completes (campaign deleted)
+                    .takeUntilOther(channel.sink.asFlux().then())),
+            channel -> release(campaignId, channel));
+    }
+
+    @EventListener
+    public void onDonationRecorded(DonationRecordedEvent event) {
+        Channel channel = channels.get(event.campaignId());
+        if (channel == null) {
+            return;
+        }
+        // The total is re-read on the next tick; only the count is bumped here
+        channel.recordDonation();
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        Channel channel = channels.get(event.campaignId());
+        if (channel == null) {
+            return;
+        }
+        if (event.type() == CampaignChangedEvent.Type.DELETED) {
+            channel.sink.tryEmitComplete();
+            channels.remove(event.campaignId(), channel);
+        } else {
+            channel.markDirty();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.campaigns.progress.coalesce-interval:500ms}")
+    public void publishDirty() {
+        channels.values().forEach(Channel::refreshAndPublish);
+    }
+
+    // Donations recorded on other nodes never reach this JVM's event listeners
+    @Scheduled(fixedDelayString = "${app.campaigns.progress.recount-interval:30s}")
+    public void recountDonations() {
+        channels.values().forEach(Channel::recount);
+    }
+
+    private Channel acquire(Campaign campaign) {
+        Channel channel = channels.compute(campaign.getId(), (id, existing) -> {
+            Channel current = existing != null ? existing : new Channel(campaign);
+            current.subscribers++;
+            return current;
+        });
+        if (channel.needsInitialCount) {
+            channel.recount();
+        }
+        return channel;
+    }
+
+    private void release(String campaignId, Channel channel) {
+        channels.computeIfPresent(campaignId, (id, existing) -> {
+            if (existing != channel) {
+                return existing;
+            }
+            existing.subscribers--;
+            return existing.subscribers > 0 ? existing : null;
+        });
+    }
+
+    private long countDonations(String campaignId) {
+        return donationRepository.countByCampaignIdAndPaymentStatus(campaignId, DONATION_SUCCESS)
+            + receiptRepository.countByCampaignIdAndStatusNotIn(campaignId, UNCOUNTED_RECEIPTS);
+    }
+
+    private final class Channel {
+
+        private final String campaignId;
+        // replay().latest() hands every new watcher the current value and multicasts the rest
+        private final Sinks.Many<CampaignProgress> sink = Sinks.many().replay().latest();
+        private int subscribers;
+        private volatile boolean needsInitialCount = true;
+        private double raisedAmount;
+        private double targetAmount;
+        private long donationCount; // successful donations + verified payments (receipts)
+        private boolean dirty;
+
+        Channel(Campaign campaign) {
+            this.campaignId = campaign.getId();
+            this.raisedAmount = campaign.getRaisedAmount();
+            this.targetAmount = campaign.getTargetAmount();
+        }
+
+        void recount() {
+            long counted;
+            try {
+                counted = countDonations(campaignId);
+            } catch (RuntimeException ex) {
+                log.warn("Could not count donations for progress stream. campaignId={}", campaignId, ex);
+                return;
+            }
+            synchronized (this) {
+                if (needsInitialCount || counted != donationCount) {
+                    donationCount = counted;
+                    dirty = true;
+                }
+                if (needsInitialCount) {
+                    needsInitialCount = false;
+                    emit();
+                }
+            }
+        }
+
+        synchronized void recordDonation() {
+            donationCount++;
+            dirty = true;
+        }
+
+        synchronized void markDirty() {
+            dirty = true;
+        }
+
+        void refreshAndPublish() {
+            Optional<Campaign> current;
+            try {
+                current = campaignManager.getCampaignById(campaignId);
+            } catch (RuntimeException ex) {
+                log.warn("Could not refresh progress stream. campaignId={}", campaignId, ex);
+                return;
+            }
+            synchronized (this) {
+                current.ifPresent(campaign -> {
+                    if (campaign.getRaisedAmount() != raisedAmount || campaign.getTargetAmount() != targetAmount) {
+                        raisedAmount = campaign.getRaisedAmount();
+                        targetAmount = campaign.getTargetAmount();
+                        dirty = true;
+                    }
+                });
+                if (dirty && !needsInitialCount) {
+                    emit();
+                }
+            }
+        }
+
+        private void emit() {
+            dirty = false;
+            sink.tryEmitNext(new CampaignProgress(campaignId, raisedAmount, targetAmount, donationCount, new Date()));
+        }
+    }
+}
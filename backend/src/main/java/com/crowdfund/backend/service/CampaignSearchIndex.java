@@ -0,0 +1,324 @@
+package com.crowdfund.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.SearchPage;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.model.Campaign;
+
+// In-memory inverted index over title, ngoName and description with BM25 ranking. The last query
+// token is prefix-matched so results update as the user types. Rebuilt from Mongo at startup and
+// kept current from CampaignChangedEvent, which only covers this node's writes; a periodic rebuild
+// picks up edits made through other nodes, so they show up within one rebuild interval.
+@Service
+public class CampaignSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CampaignSearchIndex.class);
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{M}\\p{N}]+");
+    private static final float TITLE_WEIGHT = 3f;
+    private static final float NGO_WEIGHT = 2f;
+    private static final float DESCRIPTION_WEIGHT = 1f;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 50;
+    private static final int MAX_RESULT_WINDOW = 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();
+    // Writes that arrive while a rebuild is streaming are replayed onto the rebuilt index
+    private List<CampaignChangedEvent> pendingDuringRebuild;
+
+    public CampaignSearchIndex(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            @Value("${app.campaigns.page.default-size:20}") int defaultPageSize,
+            @Value("${app.campaigns.page.max-size:100}") int maxPageSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    public SearchPage<CampaignSummary> search(String q, Integer page, Integer size) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        int pageNumber = page == null || page < 0 ? 0 : page;
+        int window = (pageNumber + 1) * pageSize;
+        if (window > MAX_RESULT_WINDOW) {
+            throw new BadRequestException("Search results are limited to the first " + MAX_RESULT_WINDOW + " matches");
+        }
+
+        List<String> tokens = tokenize(q);
+        if (tokens.isEmpty()) {
+            return new SearchPage<>(List.of(), 0, pageNumber, pageSize);
+        }
+        // A trailing space means the last word is complete
+        boolean prefixLast = !q.endsWith(" ") && tokens.get(tokens.size() - 1).length() >= MIN_PREFIX_LENGTH;
+
+        Hits hits;
+        lock.readLock().lock();
+        try {
+            hits = index.search(tokens, prefixLast, window);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int from = Math.min(pageNumber * pageSize, hits.ranked().size());
+        List<String> pageIds = hits.ranked().subList(from, Math.min(from + pageSize, hits.ranked().size()));
+        return new SearchPage<>(campaignManager.getSummariesByIds(pageIds), hits.total(), pageNumber, pageSize);
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            apply(index, event);
+            if (pendingDuringRebuild != null) {
+                pendingDuringRebuild.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        Thread worker = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (Exception ex) {
+                log.error("Campaign search index rebuild failed", ex);
+            }
+        }, "campaign-search-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @Scheduled(fixedDelayString = "${app.campaigns.search.rebuild-interval:5m}",
+        initialDelayString = "${app.campaigns.search.rebuild-interval:5m}")
+    public void scheduledRebuild() {
+        try {
+            rebuild();
+        } catch (RuntimeException ex) {
+            log.error("Campaign search index rebuild failed; keeping the current index", ex);
+        }
+    }
+
+    // Serialized: the startup and scheduled rebuilds must not share pendingDuringRebuild
+    public synchronized void rebuild() {
+        long started = System.currentTimeMillis();
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index rebuilt = new Index();
+        try {
+            Query query = new Query();
+            query.fields().include("title", "description", "ngoName");
+            try (Stream<Campaign> campaigns = mongoTemplate.stream(query, Campaign.class)) {
+                campaigns.forEach(rebuilt::put);
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pendingDuringRebuild = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw ex;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingDuringRebuild.forEach(event -> apply(rebuilt, event));
+            pendingDuringRebuild = null;
+            index = rebuilt;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Campaign search index rebuilt. campaigns={}, terms={}, tookMs={}",
+            rebuilt.docs.size(), rebuilt.postings.size(), System.currentTimeMillis() - started);
+    }
+
+    private static void apply(Index target, CampaignChangedEvent event) {
+        if (event.type() == CampaignChangedEvent.Type.DELETED || event.campaign() == null) {
+            target.remove(event.campaignId());
+        } else {
+            target.put(event.campaign());
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(normalized)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    private record Hits(List<String> ranked, int total) {}
+
+    private record Scored(String id, double score) {}
+
+    private record DocEntry(Set<String> terms, float length) {}
+
+    // Not thread-safe; guarded by the service's read/write lock
+    private static final class Index {
+
+        // term -> campaign id -> field-weighted term frequency
+        private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+        private final Map<String, DocEntry> docs = new HashMap<>();
+        private double totalLength;
+
+        void put(Campaign campaign) {
+            remove(campaign.getId());
+            Map<String, Float> frequencies = new HashMap<>();
+            float length = addField(frequencies, campaign.getTitle(), TITLE_WEIGHT)
+                + addField(frequencies, campaign.getNgoName(), NGO_WEIGHT)
+                + addField(frequencies, campaign.getDescription(), DESCRIPTION_WEIGHT);
+            if (frequencies.isEmpty()) {
+                return;
+            }
+            frequencies.forEach((term, tf) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(campaign.getId(), tf));
+            docs.put(campaign.getId(), new DocEntry(frequencies.keySet(), length));
+            totalLength += length;
+        }
+
+        void remove(String id) {
+            DocEntry entry = docs.remove(id);
+            if (entry == null) {
+                return;
+            }
+            totalLength -= entry.length();
+            for (String term : entry.terms()) {
+                Map<String, Float> posting = postings.get(term);
+                if (posting != null) {
+                    posting.remove(id);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                }
+            }
+        }
+
+        // Every token must match; within the prefix token the best-scoring expansion counts
+        Hits search(List<String> tokens, boolean prefixLast, int window) {
+            if (docs.isEmpty()) {
+                return new Hits(List.of(), 0);
+            }
+            double averageLength = totalLength / docs.size();
+            List<Map<String, Double>> perToken = new ArrayList<>(tokens.size());
+            for (int i = 0; i < tokens.size(); i++) {
+                List<String> terms = i == tokens.size() - 1 && prefixLast
+                    ? expand(tokens.get(i))
+                    : postings.containsKey(tokens.get(i)) ? List.of(tokens.get(i)) : List.of();
+                Map<String, Double> scores = new HashMap<>();
+                for (String term : terms) {
+                    Map<String, Float> posting = postings.get(term);
+                    double idf = Math.log(1 + (docs.size() - posting.size() + 0.5) / (posting.size() + 0.5));
+                    posting.forEach((id, tf) -> {
+                        double norm = K1 * (1 - B + B * docs.get(id).length() / averageLength);
+                        scores.merge(id, idf * tf * (K1 + 1) / (tf + norm), Math::max);
+                    });
+                }
+                if (scores.isEmpty()) {
+                    return new Hits(List.of(), 0);
+                }
+                perToken.add(scores);
+            }
+            perToken.sort(Comparator.comparingInt(Map::size));
+
+            // Min-heap of the best `window` hits; no full sort of the match set
+            PriorityQueue<Scored> best = new PriorityQueue<>(Comparator.comparingDouble(Scored::score));
+            int total = 0;
+            for (Map.Entry<String, Double> candidate : perToken.get(0).entrySet()) {
+                double score = candidate.getValue();
+                boolean matchesAll = true;
+                for (int i = 1; i < perToken.size() && matchesAll; i++) {
+                    Double other = perToken.get(i).get(candidate.getKey());
+                    if (other == null) {
+                        matchesAll = false;
+                    } else {
+                        score += other;
+                    }
+                }
+                if (!matchesAll) {
+                    continue;
+                }
+                total++;
+                if (best.size() < window) {
+                    best.add(new Scored(candidate.getKey(), score));
+                } else if (score > best.peek().score()) {
+                    best.poll();
+                    best.add(new Scored(candidate.getKey(), score));
+                }
+            }
+
+            List<String> ranked = new ArrayList<>(best.size());
+            while (!best.isEmpty()) {
+                ranked.add(best.poll().id());
+            }
+            Collections.reverse(ranked);
+            return new Hits(ranked, total);
+        }
+
+        private List<String> expand(String prefix) {
+            List<String> terms = new ArrayList<>();
+            for (String term : postings.subMap(prefix, true, prefix + Character.MAX_VALUE, true).keySet()) {
+                terms.add(term);
+                if (terms.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+            }
+            return terms;
+        }
+
+        private static float addField(Map<String, Float> frequencies, String text, float weight) {
+            List<String> tokens = tokenize(text);
+            tokens.forEach(token -> frequencies.merge(token, weight, Float::sum));
+            return tokens.size() * weight;
+        }
+    }
+}
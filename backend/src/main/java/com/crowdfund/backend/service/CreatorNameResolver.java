@@ -0,0 +1,131 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.mapping.event.AbstractMongoEventListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.UserNameView;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.User;
+import com.crowdfund.backend.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Resolves campaign creator ids to display names with one batched lookup per page
+@Service
+public class CreatorNameResolver extends AbstractMongoEventListener<User> {
+
+    private final UserRepository userRepository;
+    private final Cache<String, String> names;
+
+    public CreatorNameResolver(
+            UserRepository userRepository,
+            @Value("${app.cache.creator-names.max-size:10000}") long maxSize,
+            @Value("${app.cache.creator-names.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.names = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(ttl)
+            .build();
+    }
+
+    public Map<String, String> resolveNames(Collection<String> creatorIds) {
+        Map<String, String> resolved = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String creatorId : creatorIds) {
+            if (isBlank(creatorId)) continue;
+            String cached = names.getIfPresent(creatorId);
+            if (cached != null) {
+                resolved.put(creatorId, cached);
+            } else {
+                missing.add(creatorId);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (UserNameView user : userRepository.findByIdIn(missing)) {
+                if (!isBlank(user.getName())) {
+                    names.put(user.getId(), user.getName());
+                    resolved.put(user.getId(), user.getName());
+                }
+            }
+        }
+        return resolved;
+    }
+
+    public String resolveName(String creatorId) {
+        if (isBlank(creatorId)) {
+            return null;
+        }
+        return resolveNames(List.of(creatorId)).get(creatorId);
+    }
+
+    public void fillMissingNgoNames(List<Campaign> campaigns) {
+        fillMissing(campaigns, Campaign::getNgoName, Campaign::getCreatorId, Campaign::setNgoName);
+    }
+
+    public void fillMissingSummaryNgoNames(List<CampaignSummary> summaries) {
+        fillMissing(summaries, CampaignSummary::getNgoName, CampaignSummary::getCreatorId, CampaignSummary::setNgoName);
+    }
+
+    private <T> void fillMissing(List<T> items, Function<T, String> ngoName, Function<T, String> creatorId,
+                                 BiConsumer<T, String> setNgoName) {
+        Set<String> creatorIds = new HashSet<>();
+        for (T item : items) {
+            if (isBlank(ngoName.apply(item)) && !isBlank(creatorId.apply(item))) {
+                creatorIds.add(creatorId.apply(item));
+            }
+        }
+        if (creatorIds.isEmpty()) {
+            return;
+        }
+        Map<String, String> resolved = resolveNames(creatorIds);
+        for (T item : items) {
+            if (isBlank(ngoName.apply(item))) {
+                String name = resolved.get(creatorId.apply(item));
+                if (name != null) {
+                    setNgoName.accept(item, name);
+                }
+            }
+        }
+    }
+
+    public void evict(String userId) {
+        if (userId != null) {
+            names.invalidate(userId);
+        }
+    }
+
+    @Override
+    public void onAfterSave(AfterSaveEvent<User> event) {
+        evict(event.getSource().getId());
+    }
+
+    @Override
+    public void onAfterDelete(AfterDeleteEvent<User> event) {
+        Document filter = event.getSource();
+        Object id = filter.get("_id");
+        if (id != null && !(id instanceof Document)) {
+            evict(id.toString());
+        } else {
+            names.invalidateAll();
+        }
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,362 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.event.CampaignTotalsFlushedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.DonationAggregatorState;
+import com.crowdfund.backend.repository.DonationAggregatorStateRepository;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.result.UpdateResult;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+// Write-behind for Campaign.raisedAmount. Donations are persisted immediately by DonationManager;
+// only the per-campaign deltas (in paise) are coalesced here and flushed as one bulk $inc.
+// Write-behind donations carry this node's session id so a crashed session can be reconciled on restart.
+// Sessions are keyed by an explicit node id and held by a heartbeat lease: a session is only treated as
+// crashed once its lease has expired, so a live node is never "recovered" by another one.
+@Service
+public class DonationAggregator {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationAggregator.class);
+
+    private static final String CAMPAIGNS = "campaigns";
+    private static final String FLUSHED_FIELD = "aggregatorFlushedPaise";
+
+    private final MongoTemplate mongoTemplate;
+    private final DonationAggregatorStateRepository stateRepository;
+    private final CampaignCache campaignCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long maxPendingDonations;
+    private final String nodeId;
+    private final Duration lease;
+
+    // Campaigns are removed once their delta is flushed back to zero, so this only holds live deltas
+    private final ConcurrentHashMap<String, Long> pendingPaise = new ConcurrentHashMap<>();
+    private final AtomicLong pendingDonations = new AtomicLong();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private volatile String sessionId;
+    private Date sessionStartedAt;
+    private final ExecutorService thresholdFlusher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "donation-aggregator-flush");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DonationAggregator(
+            MongoTemplate mongoTemplate,
+            DonationAggregatorStateRepository stateRepository,
+            CampaignCache campaignCache,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.donations.write-behind.enabled:true}") boolean enabled,
+            @Value("${app.donations.write-behind.max-pending:500}") long maxPendingDonations,
+            @Value("${app.donations.write-behind.node-id:}") String nodeId,
+            @Value("${app.donations.write-behind.lease:30s}") Duration lease) {
+        this.mongoTemplate = mongoTemplate;
+        this.stateRepository = stateRepository;
+        this.campaignCache = campaignCache;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.maxPendingDonations = Math.max(1, maxPendingDonations);
+        this.nodeId = nodeId;
+        this.lease = lease;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void add(String campaignId, double amount) {
+        pendingPaise.merge(campaignId, toPaise(amount), Long::sum);
+        if (pendingDonations.incrementAndGet() >= maxPendingDonations && flushRequested.compareAndSet(false, true)) {
+            thresholdFlusher.execute(this::flush);
+        }
+    }
+
+    public double pendingAmount(String campaignId) {
+        return pendingPaise.getOrDefault(campaignId, 0L) / 100.0;
+    }
+
+    @Scheduled(fixedDelayString = "${app.donations.write-behind.flush-interval:1s}")
+    public void scheduledFlush() {
+        if (enabled) {
+            flush();
+        }
+    }
+
+    public synchronized void flush() {
+        flushRequested.set(false);
+        pendingDonations.set(0);
+
+        List<String> campaignIds = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class);
+        for (Map.Entry<String, Long> entry : pendingPaise.entrySet()) {
+            long delta = entry.getValue();
+            if (delta == 0) continue;
+            bulk.updateOne(
+                Query.query(Criteria.where("id").is(entry.getKey())),
+                new Update().inc("raisedAmount", delta / 100.0).inc(FLUSHED_FIELD + "." + sessionId, delta));
+            campaignIds.add(entry.getKey());
+            deltas.add(delta);
+        }
+        if (campaignIds.isEmpty()) {
+            return;
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        try {
+            bulk.execute();
+        } catch (BulkOperationException ex) {
+            for (BulkWriteError error : ex.getErrors()) {
+                failed.add(error.getIndex());
+            }
+            log.warn("Donation flush partially failed. failed={}, total={}", failed.size(), campaignIds.size());
+        } catch (RuntimeException ex) {
+            // Nothing is subtracted, so the whole window is retried on the next flush
+            log.error("Donation flush failed; deltas kept for retry. campaigns={}", campaignIds.size(), ex);
+            return;
+        }
+
+        // Subtract only what was written: donations that arrived during the flush stay pending.
+        // compute() is atomic with add()'s merge(), so dropping a zeroed entry cannot lose a delta.
+        Set<String> written = new HashSet<>();
+        for (int i = 0; i < campaignIds.size(); i++) {
+            if (failed.contains(i)) continue;
+            long delta = deltas.get(i);
+            pendingPaise.compute(campaignIds.get(i), (id, pending) -> {
+                long left = (pending == null ? 0 : pending) - delta;
+                return left == 0 ? null : left;
+            });
+            campaignCache.evict(campaignIds.get(i));
+            written.add(campaignIds.get(i));
+        }
+        log.debug("Donation deltas flushed. campaigns={}", written.size());
+        if (!written.isEmpty()) {
+            eventPublisher.publishEvent(new CampaignTotalsFlushedEvent(written));
+        }
+    }
+
+    // Donations stamped with this id are counted by this session's flushes; see recoverSession
+    public String sessionId() {
+        return sessionId;
+    }
+
+    @PostConstruct
+    public void recoverAndStartSession() {
+        if (!enabled) {
+            return;
+        }
+        if (nodeId == null || nodeId.isBlank()) {
+            // A shared fallback (e.g. "local") would make nodes recover each other's live sessions, and a
+            // per-container hostname would never find a crashed session again
+            throw new IllegalStateException("app.donations.write-behind.node-id (DONATION_NODE_ID) must be set to a "
+                + "stable id unique to this node, or disable write-behind with app.donations.write-behind.enabled=false");
+        }
+        DonationAggregatorState previous = claimNode();
+        if (previous != null && !previous.isCleanShutdown()) {
+            if (previous.getSessionId() != null) {
+                recoverSession(previous.getSessionId());
+            } else {
+                log.warn("Donation aggregator did not shut down cleanly, but the previous session predates "
+                    + "session tracking; its unflushed deltas cannot be recovered. node={}", nodeId);
+            }
+        }
+        sessionId = new ObjectId().toHexString();
+        sessionStartedAt = new Date();
+        // Recorded before the old session's markers are removed, so a crash during cleanup cannot re-apply it
+        stateRepository.save(new DonationAggregatorState(nodeId, sessionId, sessionStartedAt, null, false, leaseEnd()));
+        if (previous != null && previous.getSessionId() != null) {
+            dropSessionMarkers(previous.getSessionId());
+        }
+    }
+
+    // Takes the node's state document over from its previous session, waiting out a lease that is still
+    // running. The previous session stays recorded until recovery is done, so a crash here retries it.
+    private DonationAggregatorState claimNode() {
+        DonationAggregatorState previous = stateRepository.findById(nodeId).orElse(null);
+        if (previous == null) {
+            try {
+                stateRepository.insert(new DonationAggregatorState(nodeId, null, new Date(), null, true, leaseEnd()));
+                return null;
+            } catch (DuplicateKeyException ex) {
+                throw nodeIdInUse();
+            }
+        }
+        Date leaseUntil = previous.getLeaseUntil();
+        if (!previous.isCleanShutdown() && leaseUntil != null && leaseUntil.after(new Date())) {
+            log.info("Previous session of node {} holds its lease until {}; waiting for it to expire", nodeId, leaseUntil);
+            sleepUntil(leaseUntil);
+            DonationAggregatorState current = stateRepository.findById(nodeId).orElse(null);
+            if (current == null || !Objects.equals(current.getLeaseUntil(), leaseUntil)) {
+                throw nodeIdInUse();
+            }
+        }
+        Query unchanged = Query.query(Criteria.where("id").is(nodeId)
+            .and("sessionId").is(previous.getSessionId())
+            .and("leaseUntil").is(leaseUntil));
+        UpdateResult claimed = mongoTemplate.updateFirst(unchanged, Update.update("leaseUntil", leaseEnd()),
+            DonationAggregatorState.class);
+        if (claimed.getModifiedCount() == 0) {
+            throw nodeIdInUse();
+        }
+        return previous;
+    }
+
+    // Renews this session's lease; a node that stops heartbeating is treated as crashed once it expires
+    @Scheduled(fixedDelayString = "${app.donations.write-behind.heartbeat:10s}")
+    public void heartbeat() {
+        if (!enabled || sessionId == null) {
+            return;
+        }
+        try {
+            UpdateResult renewed = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("id").is(nodeId).and("sessionId").is(sessionId)),
+                Update.update("leaseUntil", leaseEnd()),
+                DonationAggregatorState.class);
+            if (renewed.getMatchedCount() == 0) {
+                log.error("Donation aggregator session {} of node {} was taken over; another process uses this node id",
+                    sessionId, nodeId);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Donation aggregator heartbeat failed. node={}", nodeId, ex);
+        }
+    }
+
+    private Date leaseEnd() {
+        return new Date(System.currentTimeMillis() + lease.toMillis());
+    }
+
+    private IllegalStateException nodeIdInUse() {
+        return new IllegalStateException("Donation aggregator node id '" + nodeId + "' is in use by a running node; "
+            + "each node needs its own app.donations.write-behind.node-id");
+    }
+
+    private static void sleepUntil(Date until) {
+        long millis = until.getTime() - System.currentTimeMillis();
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the previous aggregator session's lease", ex);
+        }
+    }
+
+    // Every flush also adds its paise to campaigns.aggregatorFlushedPaise.<session>, in the same update as
+    // raisedAmount. After a crash the deltas that session never flushed are exactly
+    // (its stamped donations) - (that counter), per campaign. Only that difference is applied; totals
+    // written by other nodes, imports or seeds are left alone.
+    void recoverSession(String lostSessionId) {
+        String flushedField = FLUSHED_FIELD + "." + lostSessionId;
+        Aggregation stamped = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("aggregatorSession").is(lostSessionId)),
+            Aggregation.group("campaignId").sum(
+                ArithmeticOperators.Round.roundValueOf(ArithmeticOperators.Multiply.valueOf("amount").multiplyBy(100)))
+                .as("paise"));
+        Map<String, Long> expected = new HashMap<>();
+        for (Document row : mongoTemplate.aggregate(stamped, Donation.class, Document.class)) {
+            expected.put(row.getString("_id"), Math.round(((Number) row.get("paise")).doubleValue()));
+        }
+
+        Set<String> repaired = new HashSet<>();
+        for (Map.Entry<String, Long> entry : expected.entrySet()) {
+            Query campaignQuery = Query.query(Criteria.where("id").is(entry.getKey()));
+            campaignQuery.fields().include(flushedField);
+            Document campaign = mongoTemplate.findOne(campaignQuery, Document.class, CAMPAIGNS);
+            if (campaign == null) {
+                continue;
+            }
+            Object flushedMap = campaign.get(FLUSHED_FIELD);
+            Object flushedValue = flushedMap instanceof Document flushed ? flushed.get(lostSessionId) : null;
+            long flushed = flushedValue instanceof Number number ? number.longValue() : 0;
+            long missing = entry.getValue() - flushed;
+            if (missing == 0) {
+                continue;
+            }
+            // Conditional on the counter we read, and it is moved up with the total: running recovery twice is a no-op
+            Criteria unchanged = flushedValue == null
+                ? Criteria.where(flushedField).exists(false)
+                : Criteria.where(flushedField).is(flushedValue);
+            mongoTemplate.updateFirst(
+                new Query(Criteria.where("id").is(entry.getKey()).andOperator(unchanged)),
+                new Update().inc("raisedAmount", missing / 100.0).inc(flushedField, missing),
+                Campaign.class);
+            campaignCache.evict(entry.getKey());
+            repaired.add(entry.getKey());
+        }
+        log.warn("Donation aggregator did not shut down cleanly. Re-applied unflushed deltas. session={}, campaigns={}",
+            lostSessionId, repaired.size());
+        if (!repaired.isEmpty()) {
+            eventPublisher.publishEvent(new CampaignTotalsFlushedEvent(repaired));
+        }
+    }
+
+    // The per-session counters are only needed until the session is known to be fully flushed
+    private void dropSessionMarkers(String oldSessionId) {
+        String flushedField = FLUSHED_FIELD + "." + oldSessionId;
+        try {
+            mongoTemplate.updateMulti(
+                Query.query(Criteria.where(flushedField).exists(true)),
+                new Update().unset(flushedField),
+                Campaign.class);
+        } catch (RuntimeException ex) {
+            log.warn("Could not remove aggregator markers for session {}", oldSessionId, ex);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        thresholdFlusher.shutdown();
+        if (!enabled) {
+            return;
+        }
+        flush();
+        boolean drained = pendingPaise.isEmpty();
+        stateRepository.save(new DonationAggregatorState(nodeId, sessionId, sessionStartedAt, new Date(), drained, null));
+        if (drained) {
+            dropSessionMarkers(sessionId);
+        }
+    }
+
+    private long toPaise(double amount) {
+        return Math.round(amount * 100);
+    }
+}
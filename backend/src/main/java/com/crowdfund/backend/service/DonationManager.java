@@ -2,16 +2,22 @@ package com.crowdfund.backend.service;
 
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
+import com.crowdfund.backend.dto.CursorPage;
 import com.crowdfund.backend.dto.DonationRequest;
 import com.crowdfund.backend.dto.DonationResponse;
+import com.crowdfund.backend.event.DonationRecordedEvent;
 import com.crowdfund.backend.model.Campaign;
 import com.crowdfund.backend.model.Donation;
 import com.crowdfund.backend.model.User;
 import com.crowdfund.backend.repository.CampaignRepository;
 import com.crowdfund.backend.repository.DonationRepository;
 import com.crowdfund.backend.repository.UserRepository;
+import com.crowdfund.backend.util.PageCursor;
 
 @Service
 public class DonationManager {
@@ -19,26 +25,81 @@ public class DonationManager {
     private final DonationRepository donationRepository;
     private final CampaignRepository campaignRepository;
     private final UserRepository userRepository;
+    private final CampaignCache campaignCache;
+    private final CampaignManager campaignManager;
+    private final DonationAggregator donationAggregator;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.donations.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${app.donations.page.max-size:100}")
+    private int maxPageSize;
 
     public DonationManager(DonationRepository donationRepository, 
                            CampaignRepository campaignRepository,
-                           UserRepository userRepository) {
+                           UserRepository userRepository,
+                           CampaignCache campaignCache,
+                           CampaignManager campaignManager,
+                           DonationAggregator donationAggregator,
+                           ApplicationEventPublisher eventPublisher) {
         this.donationRepository = donationRepository;
         this.campaignRepository = campaignRepository;
         this.userRepository = userRepository;
+        this.campaignCache = campaignCache;
+        this.campaignManager = campaignManager;
+        this.donationAggregator = donationAggregator;
+        this.eventPublisher = eventPublisher;
     }
 
     // ✅ Create donation linked to both campaign & user
     public DonationResponse donate(String campaignId, String userId, DonationRequest req) {
-        Campaign campaign = campaignRepository.findById(campaignId)
-                .orElseThrow(() -> new RuntimeException("Campaign not found: " + campaignId));
-
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
+        if (donationAggregator.isEnabled()) {
+            return donateWriteBehind(campaignId, user, req);
+        }
+
+        // ✅ Atomic $inc on the campaign; also proves the campaign exists
+        Double newRaisedAmount = campaignRepository.incrementRaisedAmount(campaignId, req.getAmount());
+        if (newRaisedAmount == null) {
+            throw new RuntimeException("Campaign not found: " + campaignId);
+        }
+        campaignCache.evict(campaignId);
+
+        Donation saved;
+        try {
+            saved = donationRepository.save(buildDonation(campaignId, user, req));
+        } catch (RuntimeException ex) {
+            // Roll the increment back so the total keeps matching the donation log
+            campaignRepository.incrementRaisedAmount(campaignId, -req.getAmount());
+            campaignCache.evict(campaignId);
+            throw ex;
+        }
+
+        publishRecorded(saved);
+        return toResponse(saved, newRaisedAmount);
+    }
+
+    // ✅ Hot path: persist the donation now, coalesce the raisedAmount $inc in DonationAggregator
+    private DonationResponse donateWriteBehind(String campaignId, User user, DonationRequest req) {
+        Campaign campaign = campaignManager.getCampaignById(campaignId)
+                .orElseThrow(() -> new RuntimeException("Campaign not found: " + campaignId));
+        Donation donation = buildDonation(campaignId, user, req);
+        donation.setAggregatorSession(donationAggregator.sessionId());
+        Donation saved = donationRepository.save(donation);
+        donationAggregator.add(campaignId, saved.getAmount());
+        publishRecorded(saved);
+
+        // The cached view already includes earlier pending deltas
+        return toResponse(saved, campaign.getRaisedAmount() + saved.getAmount());
+    }
+
+    private Donation buildDonation(String campaignId, User user, DonationRequest req) {
         Donation d = new Donation();
         d.setCampaignId(campaignId);
-        d.setUserId(userId);
+        d.setUserId(user.getId());
         d.setDonorName(req.getDonorName() != null ? req.getDonorName() : user.getName());
         d.setDonorEmail(req.getDonorEmail() != null ? req.getDonorEmail() : user.getEmail());
         d.setAnonymous(req.isAnonymous());
@@ -47,26 +108,55 @@ public class DonationManager {
 
         // For now, mark payment as successful (Razorpay integration नंतर अपडेट करु)
         d.setPaymentProvider("RAZORPAY");
+        d.setPaymentOrderId(req.getPaymentOrderId());
+        d.setPaymentPaymentId(req.getPaymentPaymentId());
         d.setPaymentStatus("SUCCESS");
+        return d;
+    }
 
-        Donation saved = donationRepository.save(d);
-
-        // ✅ Update campaign’s raisedAmount
-        campaign.setRaisedAmount(campaign.getRaisedAmount() + req.getAmount());
-        campaignRepository.save(campaign);
+    private void publishRecorded(Donation donation) {
+        eventPublisher.publishEvent(new DonationRecordedEvent(
+                donation.getCampaignId(),
+                donation.getUserId(),
+                donation.getDonorName(),
+                donation.isAnonymous(),
+                donation.getAmount(),
+                donation.getCreatedAt(),
+                DonationRecordedEvent.Source.DONATION
+        ));
+    }
 
+    private DonationResponse toResponse(Donation saved, double newRaisedAmount) {
         return new DonationResponse(
                 saved.getId(),
-                campaignId,
+                saved.getCampaignId(),
                 saved.getAmount(),
-                campaign.getRaisedAmount(),
+                newRaisedAmount,
                 saved.getPaymentStatus()
         );
     }
 
-    // ✅ Get donations by campaign
-    public List<Donation> listByCampaign(String campaignId) {
-        return donationRepository.findByCampaignId(campaignId);
+    // ✅ Get donations by campaign, newest first, one keyset page at a time
+    public CursorPage<Donation> listByCampaign(String campaignId, String cursor, Integer size) {
+        int pageSize = size == null || size < 1 ? defaultPageSize : Math.min(size, maxPageSize);
+        PageCursor position = PageCursor.decode(cursor);
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Donation> donations = position == null
+                ? donationRepository.findFirstPageByCampaign(campaignId, limit)
+                : donationRepository.findPageByCampaignAfter(campaignId, position.createdAt(), position.id(), limit);
+
+        String nextCursor = null;
+        if (donations.size() > pageSize) {
+            donations = donations.subList(0, pageSize);
+            Donation last = donations.get(pageSize - 1);
+            nextCursor = PageCursor.encode(last.getCreatedAt(), last.getId());
+        }
+        return new CursorPage<>(donations, nextCursor);
+    }
+
+    // ✅ Count donations of a campaign
+    public long countByCampaign(String campaignId) {
+        return donationRepository.countByCampaignId(campaignId);
     }
 
     // ✅ Get donation by id
@@ -0,0 +1,265 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.event.DonationRecordedEvent;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.DonationRollup;
+import com.crowdfund.backend.model.DonationRollup.Granularity;
+import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.repository.DonationRollupRepository;
+
+// Per-campaign hourly and daily donation buckets (sum, count, max), maintained with $inc upserts
+@Service
+public class DonationRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DonationRollupService.class);
+
+    private static final int MAX_BUCKETS_PER_QUERY = 5000;
+    // How late a live DonationRecordedEvent may reach its bucket after the donation's timestamp
+    private static final Duration LIVE_EVENT_SKEW = Duration.ofMinutes(1);
+
+    private final MongoTemplate mongoTemplate;
+    private final DonationRollupRepository rollupRepository;
+    private final ZoneId zone;
+    private final int rebuildParallelism;
+    private final int rebuildChunkSize;
+    private final AtomicBoolean rebuildRunning = new AtomicBoolean();
+
+    public DonationRollupService(
+            MongoTemplate mongoTemplate,
+            DonationRollupRepository rollupRepository,
+            @Value("${app.rollups.zone:Asia/Kolkata}") String zone,
+            @Value("${app.rollups.rebuild.parallelism:4}") int rebuildParallelism,
+            @Value("${app.rollups.rebuild.chunk-size:50}") int rebuildChunkSize) {
+        this.mongoTemplate = mongoTemplate;
+        this.rollupRepository = rollupRepository;
+        this.zone = ZoneId.of(zone);
+        this.rebuildParallelism = Math.max(1, rebuildParallelism);
+        this.rebuildChunkSize = Math.max(1, rebuildChunkSize);
+    }
+
+    @EventListener
+    public void onDonationRecorded(DonationRecordedEvent event) {
+        try {
+            record(event.campaignId(), event.amount(), event.occurredAt().toInstant());
+        } catch (RuntimeException ex) {
+            // Rollups are derived data; a rebuild repairs them, so the donation itself must not fail
+            log.error("Failed to update donation rollups. campaignId={}", event.campaignId(), ex);
+        }
+    }
+
+    public void record(String campaignId, double amount, Instant at) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DonationRollup.class);
+        for (Granularity granularity : Granularity.values()) {
+            Date bucketStart = bucketStart(at, granularity);
+            bulk.upsert(
+                Query.query(Criteria.where("id").is(DonationRollup.idFor(campaignId, granularity, bucketStart))),
+                new Update()
+                    .setOnInsert("campaignId", campaignId)
+                    .setOnInsert("granularity", granularity)
+                    .setOnInsert("bucketStart", bucketStart)
+                    .inc("sum", amount)
+                    .inc("count", 1)
+                    .max("max", amount));
+        }
+        bulk.execute();
+    }
+
+    public List<DonationRollup> getRange(String campaignId, Granularity granularity, Instant from, Instant to) {
+        Instant end = to != null ? to : Instant.now();
+        Instant start = from != null ? from : end.minus(granularity == Granularity.HOUR ? Duration.ofHours(24) : Duration.ofDays(30));
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("from must be before to");
+        }
+        long buckets = granularity == Granularity.HOUR
+            ? Duration.between(start, end).toHours()
+            : Duration.between(start, end).toDays();
+        if (buckets > MAX_BUCKETS_PER_QUERY) {
+            throw new BadRequestException("Requested range is too large for granularity " + granularity);
+        }
+        return rollupRepository.findRange(campaignId, granularity, bucketStart(start, granularity), Date.from(end));
+    }
+
+    // Internal job only: a full rebuild streams every donation and receipt, so it is not exposed over HTTP
+    @Scheduled(cron = "${app.rollups.rebuild.cron:0 30 3 * * *}", zone = "${app.rollups.zone:Asia/Kolkata}")
+    public void scheduledRebuild() {
+        if (!startRebuild()) {
+            log.info("Donation rollup rebuild already running; skipping scheduled run");
+        }
+    }
+
+    public boolean startRebuild() {
+        if (!rebuildRunning.compareAndSet(false, true)) {
+            return false;
+        }
+        Thread worker = new Thread(() -> {
+            try {
+                rebuildAll();
+            } catch (Exception ex) {
+                log.error("Donation rollup rebuild failed", ex);
+            } finally {
+                rebuildRunning.set(false);
+            }
+        }, "donation-rollup-rebuild");
+        worker.setDaemon(true);
+        worker.start();
+        return true;
+    }
+
+    // Regenerates every campaign's buckets from donations and verified-payment receipts, one campaign chunk per task
+    private void rebuildAll() throws Exception {
+        Set<String> distinctIds = new LinkedHashSet<>(
+            mongoTemplate.findDistinct(new Query(), "campaignId", Donation.class, String.class));
+        distinctIds.addAll(mongoTemplate.findDistinct(new Query(), "campaignId", Receipt.class, String.class));
+        distinctIds.remove(null);
+        List<String> campaignIds = new ArrayList<>(distinctIds);
+        log.info("Donation rollup rebuild starting. campaigns={}", campaignIds.size());
+
+        AtomicInteger campaignsDone = new AtomicInteger();
+        AtomicLong bucketsWritten = new AtomicLong();
+        ExecutorService pool = Executors.newFixedThreadPool(rebuildParallelism, runnable -> {
+            Thread thread = new Thread(runnable, "donation-rollup-rebuild-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+            for (int i = 0; i < campaignIds.size(); i += rebuildChunkSize) {
+                List<String> chunk = campaignIds.subList(i, Math.min(i + rebuildChunkSize, campaignIds.size()));
+                chunks.add(pool.submit(() -> {
+                    for (String campaignId : chunk) {
+                        bucketsWritten.addAndGet(rebuildCampaign(campaignId));
+                        campaignsDone.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        log.info("Donation rollup rebuild completed. campaigns={}, buckets={}", campaignsDone.get(), bucketsWritten.get());
+    }
+
+    private int rebuildCampaign(String campaignId) {
+        Map<String, DonationRollup> buckets = new HashMap<>();
+
+        // A payment recorded both as a donation and as a receipt is counted once, from the donation
+        Set<String> donationPaymentIds = new HashSet<>();
+        Query donations = Query.query(Criteria.where("campaignId").is(campaignId).and("paymentStatus").is("SUCCESS"));
+        donations.fields().include("amount", "createdAt", "paymentPaymentId");
+        try (Stream<Donation> stream = mongoTemplate.stream(donations, Donation.class)) {
+            stream.forEach(donation -> {
+                if (donation.getPaymentPaymentId() != null) {
+                    donationPaymentIds.add(donation.getPaymentPaymentId());
+                }
+                accumulate(buckets, campaignId, donation.getAmount(), donation.getCreatedAt().toInstant());
+            });
+        }
+
+        Query receipts = Query.query(Criteria.where("campaignId").is(campaignId));
+        receipts.fields().include("amount", "donationDateTime", "paymentId");
+        try (Stream<Receipt> stream = mongoTemplate.stream(receipts, Receipt.class)) {
+            stream.filter(receipt -> receipt.getDonationDateTime() != null)
+                .filter(receipt -> receipt.getPaymentId() == null || !donationPaymentIds.contains(receipt.getPaymentId()))
+                .forEach(receipt -> accumulate(buckets, campaignId, receipt.getAmount(), toInstant(receipt.getDonationDateTime())));
+        }
+
+        // Never delete-then-insert: live $inc upserts keep landing while the stream runs. Buckets that
+        // closed before the cutoff no longer receive live increments, so they are replaced exactly;
+        // still-open buckets only take the rebuilt values where they are larger ($max), which repairs
+        // missed events without dropping increments that arrived after the stream read past them.
+        Instant cutoff = Instant.now().minus(LIVE_EVENT_SKEW);
+        if (!buckets.isEmpty()) {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, DonationRollup.class);
+            for (DonationRollup rollup : buckets.values()) {
+                Update update = new Update()
+                    .setOnInsert("campaignId", campaignId)
+                    .setOnInsert("granularity", rollup.getGranularity())
+                    .setOnInsert("bucketStart", rollup.getBucketStart());
+                if (!bucketEnd(rollup).isAfter(cutoff)) {
+                    update.set("sum", rollup.getSum()).set("count", rollup.getCount()).set("max", rollup.getMax());
+                } else {
+                    update.max("sum", rollup.getSum()).max("count", rollup.getCount()).max("max", rollup.getMax());
+                }
+                bulk.upsert(Query.query(Criteria.where("id").is(rollup.getId())), update);
+            }
+            bulk.execute();
+        }
+
+        // Closed buckets with no donations behind them any more (e.g. refunded) are stale
+        Criteria closed = new Criteria().orOperator(
+            Criteria.where("granularity").is(Granularity.HOUR).and("bucketStart").lte(Date.from(cutoff.minus(Duration.ofHours(1)))),
+            // 25h covers DST days
+            Criteria.where("granularity").is(Granularity.DAY).and("bucketStart").lte(Date.from(cutoff.minus(Duration.ofHours(25)))));
+        mongoTemplate.remove(
+            new Query(Criteria.where("campaignId").is(campaignId).and("id").nin(buckets.keySet()).andOperator(closed)),
+            DonationRollup.class);
+        return buckets.size();
+    }
+
+    private Instant bucketEnd(DonationRollup rollup) {
+        ZonedDateTime start = ZonedDateTime.ofInstant(rollup.getBucketStart().toInstant(), zone);
+        return (rollup.getGranularity() == Granularity.HOUR ? start.plusHours(1) : start.plusDays(1)).toInstant();
+    }
+
+    private void accumulate(Map<String, DonationRollup> buckets, String campaignId, double amount, Instant at) {
+        for (Granularity granularity : Granularity.values()) {
+            Date bucketStart = bucketStart(at, granularity);
+            String id = DonationRollup.idFor(campaignId, granularity, bucketStart);
+            DonationRollup rollup = buckets.computeIfAbsent(id,
+                key -> new DonationRollup(key, campaignId, granularity, bucketStart, 0, 0, 0));
+            rollup.setSum(rollup.getSum() + amount);
+            rollup.setCount(rollup.getCount() + 1);
+            rollup.setMax(Math.max(rollup.getMax(), amount));
+        }
+    }
+
+    private Date bucketStart(Instant at, Granularity granularity) {
+        ZonedDateTime local = ZonedDateTime.ofInstant(at, zone);
+        ZonedDateTime start = granularity == Granularity.HOUR
+            ? local.truncatedTo(ChronoUnit.HOURS)
+            : local.truncatedTo(ChronoUnit.DAYS);
+        return Date.from(start.toInstant());
+    }
+
+    // Receipt times are stored as server-local LocalDateTime
+    private Instant toInstant(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    }
+}
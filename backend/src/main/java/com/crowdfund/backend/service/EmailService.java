@@ -2,7 +2,6 @@ package com.crowdfund.backend.service;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
@@ -14,13 +13,13 @@ import jakarta.mail.internet.MimeMessage;
 @Service
 public class EmailService {
 
-    private final JavaMailSender mailSender;
+    private final MailDispatcher mailDispatcher;
 
     @Value("${spring.mail.username:}")
     private String mailFrom;
 
-    public EmailService(JavaMailSender mailSender) {
-        this.mailSender = mailSender;
+    public EmailService(MailDispatcher mailDispatcher) {
+        this.mailDispatcher = mailDispatcher;
     }
 
     public void sendReceiptEmail(Receipt receipt, byte[] receiptPdfBytes) {
@@ -29,7 +28,7 @@ public class EmailService {
         }
 
         try {
-            MimeMessage message = mailSender.createMimeMessage();
+            MimeMessage message = mailDispatcher.createMimeMessage();
             MimeMessageHelper helper = new MimeMessageHelper(message, true);
 
             if (mailFrom != null && !mailFrom.isBlank()) {
@@ -43,7 +42,8 @@ public class EmailService {
                 new ByteArrayResource(receiptPdfBytes)
             );
 
-            mailSender.send(message);
+            // Queued onto a pooled SMTP connection; blocks until the server accepts it
+            mailDispatcher.send(message);
         } catch (Exception ex) {
             throw new IllegalStateException("Failed to send receipt email", ex);
         }
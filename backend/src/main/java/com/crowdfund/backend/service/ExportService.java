@@ -0,0 +1,176 @@
+package com.crowdfund.backend.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.Date;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.crowdfund.backend.dto.DataFormat;
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+
+// Streams campaigns and donations from a Mongo cursor straight into a JSON/CSV generator, so
+// memory use does not depend on the number of rows exported
+@Service
+public class ExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(ExportService.class);
+
+    // Exportable columns; payment signatures and other secrets are deliberately absent
+    public static final List<String> CAMPAIGN_FIELDS = List.of(
+        "id", "title", "description", "targetAmount", "raisedAmount", "deadline",
+        "creatorId", "ngoName", "imageUrl", "status", "createdAt");
+    public static final List<String> DONATION_FIELDS = List.of(
+        "id", "campaignId", "userId", "donorName", "donorEmail", "anonymous", "amount", "message",
+        "paymentProvider", "paymentOrderId", "paymentPaymentId", "paymentStatus", "createdAt");
+
+    private record Export(String collection, Query query, List<String> columns) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final ObjectMapper objectMapper;
+    private final CsvMapper csvMapper = new CsvMapper();
+    private final int cursorBatchSize;
+    private final int flushEvery;
+
+    public ExportService(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            ObjectMapper objectMapper,
+            @Value("${app.exports.cursor-batch-size:500}") int cursorBatchSize,
+            @Value("${app.exports.flush-every:1000}") int flushEvery) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.objectMapper = objectMapper;
+        this.cursorBatchSize = cursorBatchSize;
+        this.flushEvery = Math.max(1, flushEvery);
+    }
+
+    public StreamingResponseBody exportCampaigns(DataFormat format, List<String> fields, Instant from, Instant to, boolean gzip) {
+        Query query = createdBetween(new Query(), from, to);
+        return stream(new Export(mongoTemplate.getCollectionName(Campaign.class), query, columns(fields, CAMPAIGN_FIELDS)), format, gzip);
+    }
+
+    public StreamingResponseBody exportDonations(String campaignId, DataFormat format, List<String> fields,
+                                                 Instant from, Instant to, boolean gzip) {
+        // Resolved before streaming starts so an unknown id is still a proper error response
+        campaignManager.getCampaignById(campaignId)
+            .orElseThrow(() -> new RuntimeException("Campaign not found: " + campaignId));
+        Query query = createdBetween(new Query(Criteria.where("campaignId").is(campaignId)), from, to);
+        return stream(new Export(mongoTemplate.getCollectionName(Donation.class), query, columns(fields, DONATION_FIELDS)), format, gzip);
+    }
+
+    private StreamingResponseBody stream(Export export, DataFormat format, boolean gzip) {
+        Query query = export.query()
+            .with(Sort.by(Sort.Direction.ASC, "createdAt", "_id"))
+            .cursorBatchSize(cursorBatchSize);
+        export.columns().forEach(column -> query.fields().include(mongoField(column)));
+
+        return body -> {
+            long started = System.currentTimeMillis();
+            long rows = 0;
+            OutputStream out = gzip ? new GZIPOutputStream(body, 8192) : body;
+            // Closing the generator closes the gzip stream too, which writes its trailer
+            try (JsonGenerator generator = createGenerator(out, format, export.columns());
+                 Stream<Document> documents = mongoTemplate.stream(query, Document.class, export.collection())) {
+                for (Document document : (Iterable<Document>) documents::iterator) {
+                    writeRow(generator, document, export.columns(), format);
+                    if (++rows % flushEvery == 0) {
+                        generator.flush();
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                // Headers are already sent; the client sees a truncated body
+                log.warn("Export aborted. collection={}, rows={}, reason={}", export.collection(), rows, ex.getMessage());
+                throw ex;
+            }
+            log.info("Export finished. collection={}, format={}, gzip={}, rows={}, tookMs={}",
+                export.collection(), format, gzip, rows, System.currentTimeMillis() - started);
+        };
+    }
+
+    private JsonGenerator createGenerator(OutputStream out, DataFormat format, List<String> columns) throws IOException {
+        if (format == DataFormat.CSV) {
+            CsvSchema.Builder schema = CsvSchema.builder().setUseHeader(true);
+            columns.forEach(schema::addColumn);
+            return csvMapper.writer(schema.build()).createGenerator(out);
+        }
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        // Rows are newline-terminated below instead of space-separated
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    private static void writeRow(JsonGenerator generator, Document document, List<String> columns, DataFormat format)
+            throws IOException {
+        generator.writeStartObject();
+        for (String column : columns) {
+            generator.writeFieldName(column);
+            Object value = document.get(mongoField(column));
+            if (value == null) {
+                generator.writeNull();
+            } else if (value instanceof Number number) {
+                generator.writeNumber(number.toString());
+            } else if (value instanceof Boolean bool) {
+                generator.writeBoolean(bool);
+            } else if (value instanceof Date date) {
+                generator.writeString(date.toInstant().toString());
+            } else {
+                generator.writeString(value.toString());
+            }
+        }
+        generator.writeEndObject();
+        if (format == DataFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+    }
+
+    private static List<String> columns(List<String> requested, List<String> allowed) {
+        if (requested == null || requested.isEmpty()) {
+            return allowed;
+        }
+        List<String> columns = requested.stream().map(String::trim).filter(field -> !field.isEmpty()).distinct().toList();
+        for (String column : columns) {
+            if (!allowed.contains(column)) {
+                throw new BadRequestException("Unknown export field: " + column + ". Allowed: " + String.join(",", allowed));
+            }
+        }
+        return columns.isEmpty() ? allowed : columns;
+    }
+
+    private static Query createdBetween(Query query, Instant from, Instant to) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (from != null || to != null) {
+            Criteria createdAt = Criteria.where("createdAt");
+            if (from != null) createdAt = createdAt.gte(Date.from(from));
+            if (to != null) createdAt = createdAt.lt(Date.from(to));
+            query.addCriteria(createdAt);
+        }
+        return query;
+    }
+
+    private static String mongoField(String column) {
+        return "id".equals(column) ? "_id" : column;
+    }
+}
@@ -0,0 +1,296 @@
+package com.crowdfund.backend.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.exception.ConflictException;
+import com.crowdfund.backend.model.IdempotencyRecord;
+import com.crowdfund.backend.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+// Replays the stored response for a repeated Idempotency-Key instead of running the action again.
+// Mongo (TTL-indexed) is the source of truth across nodes; completed keys are also kept in a local LRU.
+@Service
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long MAX_POLL_MILLIS = 500;
+
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private record Claim(boolean owned, IdempotencyRecord existing) {}
+
+    private final IdempotencyRecordRepository repository;
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration lease;
+    private final Duration waitTimeout;
+    private final Cache<String, IdempotencyRecord> completed;
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(
+            IdempotencyRecordRepository repository,
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            @Value("${app.idempotency.lease:30s}") Duration lease,
+            @Value("${app.idempotency.wait-timeout:10s}") Duration waitTimeout,
+            @Value("${app.idempotency.local-cache-size:10000}") long localCacheSize) {
+        this.repository = repository;
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.lease = lease;
+        this.waitTimeout = waitTimeout;
+        this.completed = Caffeine.newBuilder()
+            .maximumSize(localCacheSize)
+            .expireAfterWrite(Duration.ofHours(24))
+            .build();
+    }
+
+    public <T, E extends Exception> T execute(
+            String scope,
+            String key,
+            Object request,
+            Class<T> responseType,
+            Action<T, E> action) throws E {
+        if (key == null || key.isBlank()) {
+            return action.run();
+        }
+        String recordId = recordId(scope, key);
+        String requestHash = hash(request);
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        long pollMillis = 50;
+
+        while (true) {
+            IdempotencyRecord done = completed.getIfPresent(recordId);
+            if (done != null) {
+                return replay(done, requestHash, responseType);
+            }
+
+            // Same-node duplicates wait on the first request instead of polling Mongo
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(recordId, mine);
+            if (running != null) {
+                awaitLocal(running, deadline);
+                continue;
+            }
+
+            try {
+                Claim claim = claim(recordId, requestHash);
+                if (claim.owned()) {
+                    return runAndStore(recordId, requestHash, action);
+                }
+                IdempotencyRecord existing = claim.existing();
+                if (existing != null) {
+                    verifySameRequest(existing, requestHash);
+                    if (IdempotencyRecord.COMPLETED.equals(existing.getStatus())) {
+                        completed.put(recordId, existing);
+                        return replay(existing, requestHash, responseType);
+                    }
+                }
+            } finally {
+                inFlight.remove(recordId, mine);
+                mine.complete(null);
+            }
+
+            // Another node is processing this key
+            if (System.nanoTime() >= deadline) {
+                throw new ConflictException("A request with this Idempotency-Key is still being processed");
+            }
+            sleep(pollMillis);
+            pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+        }
+    }
+
+    // For actions that run on another pool: the key is claimed (or its stored response replayed) on the
+    // calling thread, and only the action itself is asynchronous. A key that is still in progress fails
+    // fast with 409 rather than parking the caller, which is what the async path exists to avoid.
+    public <T> CompletableFuture<T> executeAsync(
+            String scope,
+            String key,
+            Object request,
+            Class<T> responseType,
+            Supplier<CompletableFuture<T>> action) {
+        if (key == null || key.isBlank()) {
+            return action.get();
+        }
+        try {
+            String recordId = recordId(scope, key);
+            String requestHash = hash(request);
+            while (true) {
+                IdempotencyRecord done = completed.getIfPresent(recordId);
+                if (done != null) {
+                    return CompletableFuture.completedFuture(replay(done, requestHash, responseType));
+                }
+                Claim claim = claim(recordId, requestHash);
+                if (claim.owned()) {
+                    return runAndStoreAsync(recordId, requestHash, action);
+                }
+                IdempotencyRecord existing = claim.existing();
+                if (existing == null) {
+                    // The previous attempt failed and released the key between our insert and read
+                    continue;
+                }
+                verifySameRequest(existing, requestHash);
+                if (IdempotencyRecord.COMPLETED.equals(existing.getStatus())) {
+                    completed.put(recordId, existing);
+                    return CompletableFuture.completedFuture(replay(existing, requestHash, responseType));
+                }
+                throw new ConflictException("A request with this Idempotency-Key is still being processed");
+            }
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    private String recordId(String scope, String key) {
+        String trimmedKey = key.trim();
+        if (trimmedKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+        return scope + ":" + trimmedKey;
+    }
+
+    private Claim claim(String recordId, String requestHash) {
+        Date now = new Date();
+        Date lockedUntil = new Date(now.getTime() + lease.toMillis());
+        try {
+            repository.insert(new IdempotencyRecord(recordId, requestHash, IdempotencyRecord.IN_PROGRESS, null, lockedUntil, now));
+            return new Claim(true, null);
+        } catch (DuplicateKeyException ex) {
+            // Fall through: the key is completed, in progress, or held by an expired lease
+        }
+
+        Query expiredLease = Query.query(Criteria.where("id").is(recordId)
+            .and("status").is(IdempotencyRecord.IN_PROGRESS)
+            .and("requestHash").is(requestHash)
+            .and("lockedUntil").lt(now));
+        if (mongoTemplate.updateFirst(expiredLease, Update.update("lockedUntil", lockedUntil), IdempotencyRecord.class)
+                .getModifiedCount() == 1) {
+            return new Claim(true, null);
+        }
+        return new Claim(false, repository.findById(recordId).orElse(null));
+    }
+
+    private <T, E extends Exception> T runAndStore(String recordId, String requestHash, Action<T, E> action) throws E {
+        T response;
+        try {
+            response = action.run();
+        } catch (Exception ex) {
+            // Failed attempts are not remembered, so the client may retry with the same key
+            repository.deleteById(recordId);
+            throw ex;
+        }
+        store(recordId, requestHash, response);
+        return response;
+    }
+
+    private <T> CompletableFuture<T> runAndStoreAsync(
+            String recordId, String requestHash, Supplier<CompletableFuture<T>> action) {
+        CompletableFuture<T> running;
+        try {
+            running = action.get();
+        } catch (RuntimeException ex) {
+            repository.deleteById(recordId);
+            throw ex;
+        }
+        return running.handle((response, ex) -> {
+            if (ex != null) {
+                repository.deleteById(recordId);
+                throw ex instanceof CompletionException completion ? completion : new CompletionException(ex);
+            }
+            store(recordId, requestHash, response);
+            return response;
+        });
+    }
+
+    private void store(String recordId, String requestHash, Object response) {
+        String body;
+        try {
+            body = objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to store idempotent response", ex);
+        }
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("id").is(recordId)),
+            new Update()
+                .set("status", IdempotencyRecord.COMPLETED)
+                .set("responseBody", body)
+                .unset("lockedUntil"),
+            IdempotencyRecord.class);
+        completed.put(recordId, new IdempotencyRecord(recordId, requestHash, IdempotencyRecord.COMPLETED, body, null, new Date()));
+    }
+
+    private <T> T replay(IdempotencyRecord record, String requestHash, Class<T> responseType) {
+        verifySameRequest(record, requestHash);
+        try {
+            return objectMapper.readValue(record.getResponseBody(), responseType);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to read stored idempotent response", ex);
+        }
+    }
+
+    private void verifySameRequest(IdempotencyRecord record, String requestHash) {
+        if (record.getRequestHash() != null && !record.getRequestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private void awaitLocal(CompletableFuture<Void> running, long deadline) {
+        try {
+            running.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            throw new ConflictException("A request with this Idempotency-Key is still being processed");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for a duplicate request");
+        } catch (ExecutionException ex) {
+            // Never completed exceptionally; retry the loop
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while waiting for a duplicate request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] json = request == null
+                ? new byte[0]
+                : objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Failed to fingerprint request", ex);
+        }
+    }
+}
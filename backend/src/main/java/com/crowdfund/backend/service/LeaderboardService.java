@@ -0,0 +1,384 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.EvaluationOperators;
+import org.springframework.data.mongodb.core.aggregation.UnionWithOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.CampaignSummary;
+import com.crowdfund.backend.dto.LeaderboardEntry;
+import com.crowdfund.backend.dto.LeaderboardType;
+import com.crowdfund.backend.dto.TopDonorEntry;
+import com.crowdfund.backend.event.CampaignChangedEvent;
+import com.crowdfund.backend.event.DonationRecordedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.util.BoundedTopK;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+// Campaign and per-campaign donor leaderboards kept in bounded top-K structures. Events keep them
+// current; a scheduled pass (campaigns) and refresh-after-write (donors) reconcile them with Mongo.
+@Service
+public class LeaderboardService {
+
+    private static final Logger log = LoggerFactory.getLogger(LeaderboardService.class);
+
+    static final String ANONYMOUS_NAME = "Anonymous";
+
+    private final MongoTemplate mongoTemplate;
+    private final CampaignManager campaignManager;
+    private final DonationAggregator donationAggregator;
+    private final int size;
+    private final int capacity;
+
+    // Guards the boards together with the snapshots they point at
+    private final Object lock = new Object();
+    private final Map<LeaderboardType, BoundedTopK<String>> boards = new EnumMap<>(LeaderboardType.class);
+    private final Map<String, Campaign> snapshots = new HashMap<>();
+
+    private final LoadingCache<String, DonorBoard> donorBoards;
+
+    public LeaderboardService(
+            MongoTemplate mongoTemplate,
+            CampaignManager campaignManager,
+            DonationAggregator donationAggregator,
+            @Value("${app.leaderboards.size:50}") int size,
+            @Value("${app.leaderboards.donors.max-campaigns:1000}") long maxDonorCampaigns,
+            @Value("${app.leaderboards.donors.refresh:5m}") Duration donorRefresh) {
+        this.mongoTemplate = mongoTemplate;
+        this.campaignManager = campaignManager;
+        this.donationAggregator = donationAggregator;
+        this.size = Math.max(1, size);
+        // Headroom so a campaign whose score drops does not leave a gap until the next reconcile
+        this.capacity = this.size * 2;
+        for (LeaderboardType type : LeaderboardType.values()) {
+            boards.put(type, new BoundedTopK<>(capacity));
+        }
+        this.donorBoards = Caffeine.newBuilder()
+            .maximumSize(maxDonorCampaigns)
+            .refreshAfterWrite(donorRefresh)
+            .build(this::loadDonorBoard);
+    }
+
+    public List<LeaderboardEntry> getLeaderboard(LeaderboardType type, Integer limit) {
+        int n = resolveLimit(limit);
+        long now = System.currentTimeMillis();
+        List<LeaderboardEntry> entries = new ArrayList<>(n);
+        synchronized (lock) {
+            for (BoundedTopK.Entry<String> entry : boards.get(type).top(capacity)) {
+                Campaign campaign = snapshots.get(entry.key());
+                // Deadlines pass without any event; skip them until the next reconcile drops them
+                if (campaign == null || (type == LeaderboardType.ENDING_SOON && -entry.score() <= now)) {
+                    continue;
+                }
+                entries.add(new LeaderboardEntry(entries.size() + 1, displayScore(type, entry.score()), CampaignSummary.from(campaign)));
+                if (entries.size() == n) {
+                    break;
+                }
+            }
+        }
+        return entries;
+    }
+
+    public List<TopDonorEntry> getTopDonors(String campaignId, Integer limit) {
+        if (campaignManager.getCampaignById(campaignId).isEmpty()) {
+            throw new RuntimeException("Campaign not found: " + campaignId);
+        }
+        return donorBoards.get(campaignId).top(resolveLimit(limit));
+    }
+
+    @EventListener
+    public void onCampaignChanged(CampaignChangedEvent event) {
+        if (event.type() == CampaignChangedEvent.Type.DELETED || event.campaign() == null) {
+            synchronized (lock) {
+                boards.values().forEach(board -> board.remove(event.campaignId()));
+                snapshots.remove(event.campaignId());
+            }
+            donorBoards.invalidate(event.campaignId());
+            return;
+        }
+        Campaign campaign = new Campaign(event.campaign());
+        campaign.setRaisedAmount(campaign.getRaisedAmount() + donationAggregator.pendingAmount(campaign.getId()));
+        synchronized (lock) {
+            apply(campaign);
+        }
+    }
+
+    @EventListener
+    public void onDonationRecorded(DonationRecordedEvent event) {
+        try {
+            DonorBoard donors = donorBoards.getIfPresent(event.campaignId());
+            if (donors != null
+                    && !donors.add(donorKey(event.donorId(), event.donorName()), event.donorName(), event.anonymous(), event.amount())) {
+                // A donor below the cut-off: only Mongo knows their running total
+                donorBoards.refresh(event.campaignId());
+            }
+            // Verified payments only produce receipts; raisedAmount moves with DonationManager donations
+            if (event.source() == DonationRecordedEvent.Source.DONATION) {
+                updateRaised(event.campaignId(), event.amount());
+            }
+        } catch (RuntimeException ex) {
+            // Leaderboards are derived data; reconciliation repairs them, so the donation itself must not fail
+            log.error("Failed to update leaderboards. campaignId={}", event.campaignId(), ex);
+        }
+    }
+
+    private void updateRaised(String campaignId, double amount) {
+        synchronized (lock) {
+            Campaign known = snapshots.get(campaignId);
+            if (known != null) {
+                Campaign updated = new Campaign(known);
+                updated.setRaisedAmount(known.getRaisedAmount() + amount);
+                apply(updated);
+                return;
+            }
+        }
+        // Not on any board yet; the cached view already includes this donation
+        campaignManager.getCampaignById(campaignId).ifPresent(campaign -> {
+            synchronized (lock) {
+                if (!snapshots.containsKey(campaignId)) {
+                    apply(new Campaign(campaign));
+                }
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.leaderboards.reconcile-interval:5m}")
+    public void reconcile() {
+        try {
+            Map<LeaderboardType, List<Campaign>> fresh = new EnumMap<>(LeaderboardType.class);
+            fresh.put(LeaderboardType.MOST_RAISED, loadMostRaised());
+            fresh.put(LeaderboardType.CLOSEST_TO_TARGET, loadClosestToTarget());
+            fresh.put(LeaderboardType.ENDING_SOON, loadEndingSoon());
+
+            List<Campaign> all = new ArrayList<>();
+            fresh.values().forEach(all::addAll);
+            campaignManager.normalizeForRead(all);
+            all.forEach(campaign -> campaign.setRaisedAmount(
+                campaign.getRaisedAmount() + donationAggregator.pendingAmount(campaign.getId())));
+
+            synchronized (lock) {
+                snapshots.clear();
+                fresh.forEach((type, campaigns) -> {
+                    Map<String, Double> scores = new HashMap<>();
+                    for (Campaign campaign : campaigns) {
+                        Double score = score(type, campaign);
+                        if (score != null) {
+                            scores.put(campaign.getId(), score);
+                            snapshots.put(campaign.getId(), campaign);
+                        }
+                    }
+                    boards.get(type).replaceAll(scores);
+                });
+            }
+            log.debug("Leaderboards reconciled. campaigns={}", all.size());
+        } catch (RuntimeException ex) {
+            log.error("Leaderboard reconciliation failed", ex);
+        }
+    }
+
+    // Caller holds the lock
+    private void apply(Campaign campaign) {
+        String id = campaign.getId();
+        boolean onAnyBoard = false;
+        for (Map.Entry<LeaderboardType, BoundedTopK<String>> board : boards.entrySet()) {
+            Double score = score(board.getKey(), campaign);
+            if (score == null) {
+                board.getValue().remove(id);
+            } else if (board.getValue().offer(id, score)) {
+                onAnyBoard = true;
+            }
+        }
+        if (onAnyBoard) {
+            snapshots.put(id, campaign);
+        } else {
+            snapshots.remove(id);
+        }
+    }
+
+    // null means the campaign does not qualify for that board
+    private Double score(LeaderboardType type, Campaign campaign) {
+        boolean open = !Campaign.STATUS_CLOSED.equalsIgnoreCase(campaign.getStatus());
+        switch (type) {
+            case MOST_RAISED:
+                return campaign.getRaisedAmount() > 0 ? campaign.getRaisedAmount() : null;
+            case CLOSEST_TO_TARGET:
+                if (!open || campaign.getTargetAmount() <= 0 || campaign.getRaisedAmount() >= campaign.getTargetAmount()) {
+                    return null;
+                }
+                return campaign.getRaisedAmount() / campaign.getTargetAmount();
+            case ENDING_SOON:
+                Date deadline = campaign.getDeadline();
+                if (!open || deadline == null || deadline.getTime() <= System.currentTimeMillis()) {
+                    return null;
+                }
+                // Earliest deadline ranks first in a highest-score-first structure
+                return (double) -deadline.getTime();
+            default:
+                return null;
+        }
+    }
+
+    private double displayScore(LeaderboardType type, double score) {
+        return type == LeaderboardType.ENDING_SOON ? -score : score;
+    }
+
+    private List<Campaign> loadMostRaised() {
+        Query query = new Query(Criteria.where("raisedAmount").gt(0))
+            .with(Sort.by(Sort.Direction.DESC, "raisedAmount"))
+            .limit(capacity);
+        query.fields().include(CampaignSummary.FIELDS);
+        return mongoTemplate.find(query, Campaign.class);
+    }
+
+    private List<Campaign> loadEndingSoon() {
+        // Served by the {status, deadline} index; CampaignDeadlineScheduler closes campaigns once they end
+        Query query = new Query(Criteria.where("status").is(Campaign.STATUS_ACTIVE).and("deadline").gt(new Date()))
+            .with(Sort.by(Sort.Direction.ASC, "deadline"))
+            .limit(capacity);
+        query.fields().include(CampaignSummary.FIELDS);
+        return mongoTemplate.find(query, Campaign.class);
+    }
+
+    private List<Campaign> loadClosestToTarget() {
+        Aggregation aggregation = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("status").is(Campaign.STATUS_ACTIVE).and("targetAmount").gt(0)),
+            Aggregation.match(EvaluationOperators.valueOf(
+                ComparisonOperators.valueOf("raisedAmount").lessThan("targetAmount")).expr()),
+            Aggregation.addFields().addFieldWithValue("progress",
+                ArithmeticOperators.valueOf("raisedAmount").divideBy("targetAmount")).build(),
+            Aggregation.sort(Sort.Direction.DESC, "progress"),
+            Aggregation.limit(capacity),
+            Aggregation.project(CampaignSummary.FIELDS));
+        return mongoTemplate.aggregate(aggregation, Campaign.class, Campaign.class).getMappedResults();
+    }
+
+    // Totals are summed in Mongo and only the top capacity donors (plus one, to tell whether any were
+    // cut off) come back, so memory per campaign stays bounded however many donors it has
+    private DonorBoard loadDonorBoard(String campaignId) {
+        Aggregation donors = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("campaignId").is(campaignId).and("paymentStatus").is("SUCCESS")),
+            Aggregation.sort(Sort.Direction.ASC, "createdAt"),
+            Aggregation.project("amount", "donorName", "anonymous")
+                .and(ConditionalOperators.ifNull("userId").thenValueOf("donorName")).as("donor"),
+            Aggregation.group("donor")
+                .sum("amount").as("total")
+                .last("donorName").as("donorName")
+                .max("anonymous").as("anonymous"),
+            UnionWithOperation.unionWith("receipts").pipeline(
+                Aggregation.match(Criteria.where("campaignId").is(campaignId)
+                    .and("status").nin(Receipt.STATUS_FAILED, Receipt.STATUS_REFUNDED)),
+                Aggregation.sort(Sort.Direction.ASC, "donationDateTime"),
+                Aggregation.project("amount", "donorName")
+                    .and(ConditionalOperators.ifNull("userId").thenValueOf("donorName")).as("donor"),
+                Aggregation.group("donor")
+                    .sum("amount").as("total")
+                    .last("donorName").as("donorName")),
+            Aggregation.match(Criteria.where("_id").ne(null)),
+            Aggregation.group("_id")
+                .sum("total").as("total")
+                .last("donorName").as("donorName")
+                .max("anonymous").as("anonymous"),
+            Aggregation.sort(Sort.Direction.DESC, "total"),
+            Aggregation.limit(capacity + 1L));
+        List<Document> rows = mongoTemplate.aggregate(donors, Donation.class, Document.class).getMappedResults();
+        DonorBoard board = new DonorBoard(capacity, rows.size() > capacity);
+        for (Document row : rows.subList(0, Math.min(rows.size(), capacity))) {
+            board.add(row.getString("_id"), row.getString("donorName"),
+                Boolean.TRUE.equals(row.getBoolean("anonymous")), toDouble(row.get("total")));
+        }
+        return board;
+    }
+
+    private static double toDouble(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private static String donorKey(String donorId, String donorName) {
+        return donorId != null ? donorId : donorName;
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(10, size);
+        }
+        return Math.min(limit, size);
+    }
+
+    // Top donors of one campaign, at most capacity of them; everyone else is only in Mongo. Once the
+    // board is truncated, a donation from a donor not on it cannot be ranked (their earlier total is
+    // unknown), so add() returns false and the caller reloads the board from the aggregation.
+    private static final class DonorBoard {
+
+        private record Donor(String name, boolean anonymous) {}
+
+        private final int capacity;
+        private final BoundedTopK<String> ranked;
+        private final Map<String, Donor> donors = new HashMap<>();
+        private boolean truncated;
+
+        DonorBoard(int capacity, boolean truncated) {
+            this.capacity = capacity;
+            this.ranked = new BoundedTopK<>(capacity);
+            this.truncated = truncated;
+        }
+
+        synchronized boolean add(String key, String name, boolean isAnonymous, double amount) {
+            if (key == null) {
+                return true;
+            }
+            Double current = ranked.scoreOf(key);
+            if (current == null) {
+                if (truncated) {
+                    return false;
+                }
+                // Full: this donor or the current last one drops off, and its total is forgotten
+                truncated = donors.size() >= capacity;
+            }
+            if (ranked.offer(key, (current != null ? current : 0) + amount)) {
+                Donor previous = donors.get(key);
+                String displayName = name != null && !name.isBlank() ? name : previous != null ? previous.name() : null;
+                // Once a donor has given anonymously, they stay masked
+                donors.put(key, new Donor(displayName, isAnonymous || (previous != null && previous.anonymous())));
+            }
+            if (donors.size() > capacity) {
+                donors.keySet().removeIf(donor -> !ranked.contains(donor));
+            }
+            return true;
+        }
+
+        synchronized List<TopDonorEntry> top(int n) {
+            List<TopDonorEntry> entries = new ArrayList<>(n);
+            for (BoundedTopK.Entry<String> entry : ranked.top(n)) {
+                Donor donor = donors.get(entry.key());
+                boolean masked = donor != null && donor.anonymous();
+                String name = masked || donor == null || donor.name() == null ? ANONYMOUS_NAME : donor.name();
+                entries.add(new TopDonorEntry(entries.size() + 1, name, masked, entry.score()));
+            }
+            return entries;
+        }
+    }
+}
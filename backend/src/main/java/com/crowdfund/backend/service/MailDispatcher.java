@@ -0,0 +1,301 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.exception.TooManyRequestsException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+// Sends mail over a few long-lived SMTP connections instead of one connect + STARTTLS + AUTH per
+// message. Each sender thread owns one Transport, drains the queue in batches, and closes its
+// connection after sitting idle. A shared token bucket keeps the total send rate under the
+// provider's limit. Metrics: mail.queue.depth, mail.transports.open, mail.send{result}.
+@Service
+public class MailDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(MailDispatcher.class);
+
+    // taken is set by whoever gets the message first: a sender about to deliver it, or a timed-out send()
+    private record Outgoing(MimeMessage message, CompletableFuture<Void> result, AtomicBoolean taken) {
+        boolean take() {
+            return taken.compareAndSet(false, true);
+        }
+    }
+
+    private final JavaMailSenderImpl mailSender;
+    private final BlockingQueue<Outgoing> queue;
+    private final int batchSize;
+    private final long idleCloseMs;
+    private final long sendTimeoutMs;
+    private final RateLimiter rateLimiter;
+    private final Timer sentTimer;
+    private final Timer failedTimer;
+    private final Set<Transport> openTransports = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private volatile boolean running = true;
+
+    public MailDispatcher(
+            JavaMailSenderImpl mailSender,
+            MeterRegistry meterRegistry,
+            @Value("${app.mail.pool-size:2}") int poolSize,
+            @Value("${app.mail.batch-size:20}") int batchSize,
+            @Value("${app.mail.queue-capacity:1000}") int queueCapacity,
+            @Value("${app.mail.rate-per-second:5}") double ratePerSecond,
+            @Value("${app.mail.idle-close:30s}") Duration idleClose,
+            @Value("${app.mail.send-timeout:60s}") Duration sendTimeout) {
+        this.mailSender = mailSender;
+        this.queue = new LinkedBlockingQueue<>(Math.max(1, queueCapacity));
+        this.batchSize = Math.max(1, batchSize);
+        this.idleCloseMs = idleClose.toMillis();
+        this.sendTimeoutMs = sendTimeout.toMillis();
+        this.rateLimiter = new RateLimiter(ratePerSecond);
+        this.sentTimer = Timer.builder("mail.send").tag("result", "success").register(meterRegistry);
+        this.failedTimer = Timer.builder("mail.send").tag("result", "failure").register(meterRegistry);
+        Gauge.builder("mail.queue.depth", queue, BlockingQueue::size).register(meterRegistry);
+        Gauge.builder("mail.transports.open", openTransports, Set::size).register(meterRegistry);
+
+        int senderCount = Math.max(1, poolSize);
+        AtomicInteger counter = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderCount, runnable -> {
+            Thread thread = new Thread(runnable, "mail-sender-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < senderCount; i++) {
+            senders.execute(this::senderLoop);
+        }
+    }
+
+    public MimeMessage createMimeMessage() {
+        return mailSender.createMimeMessage();
+    }
+
+    // Completes once the server has accepted the message; fails fast when the queue is full
+    public CompletableFuture<Void> submit(MimeMessage message) {
+        return enqueue(message).result();
+    }
+
+    // Blocking variant for callers that already run off the request thread (e.g. receipt jobs).
+    // A timeout withdraws the message so it is not delivered after the caller has given up (and
+    // retried); if a sender already took it, the outcome of that delivery is awaited instead.
+    public void send(MimeMessage message) throws MessagingException {
+        Outgoing outgoing = enqueue(message);
+        try {
+            try {
+                outgoing.result().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException ex) {
+                if (outgoing.take()) {
+                    queue.remove(outgoing);
+                    outgoing.result().completeExceptionally(ex);
+                    throw new MessagingException("Timed out waiting for the mail queue", ex);
+                }
+                outgoing.result().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof MessagingException messagingException) {
+                throw messagingException;
+            }
+            if (ex.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MessagingException("Mail send failed", ex);
+        } catch (TimeoutException ex) {
+            throw new MessagingException("Timed out waiting for the SMTP server", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new MessagingException("Interrupted while sending mail", ex);
+        }
+    }
+
+    private Outgoing enqueue(MimeMessage message) {
+        Outgoing outgoing = new Outgoing(message, new CompletableFuture<>(), new AtomicBoolean());
+        if (!running || !queue.offer(outgoing)) {
+            outgoing.result().completeExceptionally(new TooManyRequestsException("Mail queue is full"));
+        }
+        return outgoing;
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        senders.shutdownNow();
+        List<Outgoing> abandoned = new ArrayList<>();
+        queue.drainTo(abandoned);
+        abandoned.forEach(outgoing -> outgoing.result().completeExceptionally(
+            new IllegalStateException("Mail dispatcher is shutting down")));
+    }
+
+    private void senderLoop() {
+        Transport transport = null;
+        List<Outgoing> batch = new ArrayList<>(batchSize);
+        try {
+            while (running) {
+                Outgoing first = queue.poll(idleCloseMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    // Idle: give the connection back rather than let the server time it out
+                    transport = close(transport);
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                transport = sendBatch(transport, batch);
+                batch.clear();
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            batch.forEach(outgoing -> outgoing.result().completeExceptionally(
+                new IllegalStateException("Mail dispatcher is shutting down")));
+            close(transport);
+        }
+    }
+
+    private Transport sendBatch(Transport transport, List<Outgoing> batch) throws InterruptedException {
+        for (Outgoing outgoing : batch) {
+            if (!outgoing.take()) {
+                // Withdrawn by a send() that timed out while it sat in this batch
+                continue;
+            }
+            rateLimiter.acquire();
+            long start = System.nanoTime();
+            try {
+                transport = deliver(transport, outgoing.message());
+                sentTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                outgoing.result().complete(null);
+            } catch (MessagingException | RuntimeException ex) {
+                failedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                outgoing.result().completeExceptionally(ex);
+                // A rejected recipient leaves the connection usable; anything else may not have
+                if (transport != null && (!openTransports.contains(transport) || !isConnected(transport))) {
+                    transport = close(transport);
+                }
+            }
+        }
+        log.debug("Sent mail batch. size={}, queued={}", batch.size(), queue.size());
+        return transport;
+    }
+
+    // Connects lazily; a connection the server dropped while idle is reopened once and retried
+    private Transport deliver(Transport transport, MimeMessage message) throws MessagingException {
+        if (message.getSentDate() == null) {
+            message.setSentDate(new Date());
+        }
+        message.saveChanges();
+        boolean reused = transport != null;
+        if (transport == null) {
+            transport = connect();
+        }
+        try {
+            transport.sendMessage(message, message.getAllRecipients());
+            return transport;
+        } catch (MessagingException ex) {
+            if (!reused || isConnected(transport)) {
+                throw ex;
+            }
+            close(transport);
+            Transport fresh = connect();
+            try {
+                fresh.sendMessage(message, message.getAllRecipients());
+            } catch (MessagingException retryEx) {
+                close(fresh);
+                throw retryEx;
+            }
+            return fresh;
+        }
+    }
+
+    private Transport connect() throws MessagingException {
+        Transport transport = mailSender.getSession().getTransport(
+            mailSender.getProtocol() != null ? mailSender.getProtocol() : "smtp");
+        String username = mailSender.getUsername();
+        String password = mailSender.getPassword();
+        if (username == null || username.isBlank()) {
+            username = null;
+            password = null;
+        }
+        transport.connect(mailSender.getHost(), mailSender.getPort(), username, password);
+        openTransports.add(transport);
+        return transport;
+    }
+
+    private Transport close(Transport transport) {
+        // Safe to call twice for the same transport; only the first call closes it
+        if (transport != null && openTransports.remove(transport)) {
+            try {
+                transport.close();
+            } catch (MessagingException ex) {
+                log.debug("Error closing SMTP transport", ex);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isConnected(Transport transport) {
+        try {
+            return transport.isConnected();
+        } catch (RuntimeException ex) {
+            return false;
+        }
+    }
+
+    // Token bucket shared by all senders; a burst of one second's worth of permits is allowed
+    private static final class RateLimiter {
+
+        private final double permitsPerNano;
+        private final double capacity;
+        private double available;
+        private long refilledAt = System.nanoTime();
+
+        RateLimiter(double ratePerSecond) {
+            double rate = ratePerSecond > 0 ? ratePerSecond : Double.MAX_VALUE / 1e9;
+            this.permitsPerNano = rate / 1e9;
+            this.capacity = Math.max(1, ratePerSecond);
+            this.available = capacity;
+        }
+
+        void acquire() throws InterruptedException {
+            long waitNanos;
+            synchronized (this) {
+                long now = System.nanoTime();
+                available = Math.min(capacity, available + (now - refilledAt) * permitsPerNano);
+                refilledAt = now;
+                available -= 1;
+                waitNanos = available >= 0 ? 0 : (long) (-available / permitsPerNano);
+            }
+            if (waitNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+        }
+    }
+}
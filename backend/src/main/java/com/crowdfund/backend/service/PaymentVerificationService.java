@@ -6,12 +6,15 @@ import com.crowdfund.backend.dto.PaymentVerificationRequest;
 import com.crowdfund.backend.dto.PaymentVerificationResponse;
 import com.crowdfund.backend.exception.BadRequestException;
 import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.model.ReceiptJob;
 import com.crowdfund.backend.service.ReceiptService.ReceiptProcessingResult;
 import com.crowdfund.backend.util.RazorpaySignatureUtil;
 
 @Service
 public class PaymentVerificationService {
 
+    private static final String EMAIL_NOT_QUEUED = "NOT_QUEUED";
+
     private final RazorpaySignatureUtil razorpaySignatureUtil;
     private final ReceiptService receiptService;
 
@@ -37,20 +40,28 @@ public class PaymentVerificationService {
         ReceiptProcessingResult processingResult = receiptService.processVerifiedPayment(request);
         Receipt receipt = processingResult.receipt();
 
+        // The email goes out asynchronously; report where the receipt job stands right now
+        String emailStatus = receiptService.findJobByPaymentId(receipt.getPaymentId())
+            .map(ReceiptJob::getStatus)
+            .orElse(EMAIL_NOT_QUEUED);
+
         String message = processingResult.alreadyProcessed()
             ? "Payment already verified. Existing receipt returned."
-            : (processingResult.emailSent()
-                ? "Payment verified, receipt saved, and email sent."
-                : "Payment verified and receipt saved, but email sending failed.");
+            : (processingResult.emailQueued()
+                ? "Payment verified and receipt saved. Receipt email is on its way."
+                : "Payment verified and receipt saved, but the receipt email could not be queued.");
 
-        return new PaymentVerificationResponse(
+        PaymentVerificationResponse response = new PaymentVerificationResponse(
             message,
             receipt.getId(),
             receipt.getPaymentId(),
             receipt.getOrderId(),
             "/api/receipt/download/" + receipt.getPaymentId(),
-            processingResult.emailSent(),
+            ReceiptJob.SENT.equals(emailStatus),
             processingResult.alreadyProcessed()
         );
+        response.setEmailStatus(emailStatus);
+        response.setReceiptStatusUrl("/api/receipt/jobs/" + receipt.getPaymentId());
+        return response;
     }
 }
@@ -0,0 +1,335 @@
+package com.crowdfund.backend.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.dto.PaymentVerificationRequest;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.PaymentWebhookEvent;
+import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.repository.ReceiptRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+
+// Drains the webhook inbox. Each worker leases a batch of due events, applies their donation and
+// receipt status changes as ordered bulk writes, and marks the batch done. A failed batch is replayed
+// event by event; only the events that still fail back off exponentially, and those that keep failing
+// end up FAILED (dead letter).
+@Service
+public class PaymentWebhookProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookProcessor.class);
+
+    private static final String DONATION_SUCCESS = "SUCCESS";
+    private static final String DONATION_FAILED = "FAILED";
+    private static final String DONATION_REFUNDED = "REFUNDED";
+
+    private record PaymentChange(PaymentWebhookEvent event, String paymentId, String orderId, JsonNode payment) {}
+
+    private final MongoTemplate mongoTemplate;
+    private final ReceiptRepository receiptRepository;
+    private final ReceiptService receiptService;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBase;
+    private final Duration retryMax;
+
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final ExecutorService executor;
+
+    public PaymentWebhookProcessor(
+            MongoTemplate mongoTemplate,
+            ReceiptRepository receiptRepository,
+            ReceiptService receiptService,
+            ObjectMapper objectMapper,
+            @Value("${app.payments.webhook.enabled:true}") boolean enabled,
+            @Value("${app.payments.webhook.workers:4}") int workers,
+            @Value("${app.payments.webhook.batch-size:100}") int batchSize,
+            @Value("${app.payments.webhook.max-attempts:8}") int maxAttempts,
+            @Value("${app.payments.webhook.lease:2m}") Duration lease,
+            @Value("${app.payments.webhook.retry-base:5s}") Duration retryBase,
+            @Value("${app.payments.webhook.retry-max:10m}") Duration retryMax) {
+        this.mongoTemplate = mongoTemplate;
+        this.receiptRepository = receiptRepository;
+        this.receiptService = receiptService;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = lease;
+        this.retryBase = retryBase;
+        this.retryMax = retryMax;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "payment-webhook-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // One worker polls while idle; a full batch brings in another, up to the pool size
+    @Scheduled(fixedDelayString = "${app.payments.webhook.poll-interval:1s}")
+    public void poll() {
+        if (enabled) {
+            startWorker(1);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void startWorker(int limit) {
+        int active;
+        do {
+            active = activeWorkers.get();
+            if (active >= limit) {
+                return;
+            }
+        } while (!activeWorkers.compareAndSet(active, active + 1));
+        executor.execute(() -> {
+            try {
+                while (true) {
+                    int claimed = processBatch();
+                    if (claimed < batchSize) {
+                        return;
+                    }
+                    startWorker(workers);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Payment webhook worker stopped", ex);
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        });
+    }
+
+    // Returns the number of events claimed
+    int processBatch() {
+        List<PaymentWebhookEvent> batch = claim();
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        batch.sort(Comparator.comparing(PaymentWebhookEvent::getReceivedAt));
+
+        List<PaymentChange> changes = new ArrayList<>();
+        for (PaymentWebhookEvent event : batch) {
+            try {
+                changes.add(parse(event));
+            } catch (IOException | IllegalArgumentException ex) {
+                // Retrying cannot fix a payload we do not understand
+                deadLetter(event, "Unreadable payload: " + ex.getMessage());
+            }
+        }
+        if (changes.isEmpty()) {
+            return batch.size();
+        }
+
+        try {
+            apply(changes);
+            log.info("Processed payment webhooks. count={}", changes.size());
+        } catch (RuntimeException ex) {
+            // Isolate the bad event: replay one at a time so only the failing one backs off. The status
+            // writes are idempotent, so re-applying the part of the batch that already landed is safe.
+            log.warn("Payment webhook batch failed, retrying events one by one. size={}", changes.size(), ex);
+            for (PaymentChange change : changes) {
+                try {
+                    apply(List.of(change));
+                } catch (RuntimeException eventEx) {
+                    log.error("Payment webhook failed. eventId={}", change.event().getId(), eventEx);
+                    retryOrDeadLetter(change.event(), eventEx.getMessage());
+                }
+            }
+        }
+        return batch.size();
+    }
+
+    private void apply(List<PaymentChange> changes) {
+        applyStatusChanges(changes);
+        createMissingReceipts(changes);
+        List<String> ids = changes.stream().map(change -> change.event().getId()).toList();
+        mongoTemplate.updateMulti(
+            Query.query(Criteria.where("_id").in(ids).and("lockToken").is(changes.get(0).event().getLockToken())),
+            new Update().set("status", PaymentWebhookEvent.DONE).set("processedAt", new Date())
+                .unset("lockToken").unset("lockedUntil").unset("lastError"),
+            PaymentWebhookEvent.class);
+    }
+
+    // Lease a batch: pick due ids, stamp them with a fresh token, read back what this token won
+    private List<PaymentWebhookEvent> claim() {
+        Date now = new Date();
+        Criteria due = new Criteria().orOperator(
+            Criteria.where("status").is(PaymentWebhookEvent.PENDING).and("availableAt").lte(now),
+            Criteria.where("status").is(PaymentWebhookEvent.PROCESSING).and("lockedUntil").lt(now));
+        Query candidates = new Query(due).with(Sort.by(Sort.Direction.ASC, "availableAt")).limit(batchSize);
+        candidates.fields().include("_id");
+        List<String> ids = mongoTemplate.find(candidates, PaymentWebhookEvent.class).stream()
+            .map(PaymentWebhookEvent::getId).toList();
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        String token = UUID.randomUUID().toString();
+        mongoTemplate.updateMulti(
+            new Query(new Criteria().andOperator(Criteria.where("_id").in(ids), due)),
+            new Update().set("status", PaymentWebhookEvent.PROCESSING).set("lockToken", token)
+                .set("lockedUntil", new Date(now.getTime() + lease.toMillis())).inc("attempts", 1),
+            PaymentWebhookEvent.class);
+        return new ArrayList<>(mongoTemplate.find(Query.query(Criteria.where("lockToken").is(token)), PaymentWebhookEvent.class));
+    }
+
+    private PaymentChange parse(PaymentWebhookEvent event) throws IOException {
+        JsonNode payload = objectMapper.readTree(event.getPayload()).path("payload");
+        JsonNode payment = payload.path("payment").path("entity");
+        String paymentId;
+        if (PaymentWebhookService.REFUND_PROCESSED.equals(event.getEvent())) {
+            paymentId = payload.path("refund").path("entity").path("payment_id").asText(null);
+        } else {
+            paymentId = payment.path("id").asText(null);
+        }
+        if (paymentId == null || paymentId.isBlank()) {
+            throw new IllegalArgumentException("payment id missing");
+        }
+        String orderId = payment.path("order_id").asText(null);
+        return new PaymentChange(event, paymentId, orderId, payment);
+    }
+
+    // Ordered so a capture and a later refund in the same batch land in that order. Guards keep a
+    // late payment.failed from overwriting a capture and nothing from overwriting a refund.
+    private void applyStatusChanges(List<PaymentChange> changes) {
+        BulkOperations donations = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Donation.class);
+        BulkOperations receipts = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Receipt.class);
+        int donationWrites = 0;
+        for (PaymentChange change : changes) {
+            String donationStatus;
+            String receiptStatus;
+            Set<String> donationKeep;
+            Set<String> receiptKeep;
+            switch (change.event().getEvent()) {
+                case PaymentWebhookService.PAYMENT_CAPTURED -> {
+                    donationStatus = DONATION_SUCCESS;
+                    receiptStatus = Receipt.STATUS_CAPTURED;
+                    donationKeep = Set.of(DONATION_REFUNDED);
+                    receiptKeep = Set.of(Receipt.STATUS_REFUNDED);
+                }
+                case PaymentWebhookService.PAYMENT_FAILED -> {
+                    donationStatus = DONATION_FAILED;
+                    receiptStatus = Receipt.STATUS_FAILED;
+                    donationKeep = Set.of(DONATION_SUCCESS, DONATION_REFUNDED);
+                    receiptKeep = Set.of(Receipt.STATUS_CAPTURED, Receipt.STATUS_REFUNDED);
+                }
+                default -> {
+                    donationStatus = DONATION_REFUNDED;
+                    receiptStatus = Receipt.STATUS_REFUNDED;
+                    donationKeep = Set.of();
+                    receiptKeep = Set.of();
+                }
+            }
+            if (change.orderId() != null) {
+                donations.updateMulti(
+                    Query.query(Criteria.where("paymentOrderId").is(change.orderId()).and("paymentStatus").nin(donationKeep)),
+                    new Update().set("paymentStatus", donationStatus).set("paymentPaymentId", change.paymentId()));
+                donationWrites++;
+            }
+            receipts.updateMulti(
+                Query.query(Criteria.where("paymentId").is(change.paymentId()).and("status").nin(receiptKeep)),
+                Update.update("status", receiptStatus));
+        }
+        if (donationWrites > 0) {
+            donations.execute();
+        }
+        receipts.execute();
+    }
+
+    // A capture whose checkout tab never called /verify has no receipt yet; the order notes carry
+    // the campaign and user, so the receipt can be created from the webhook alone
+    private void createMissingReceipts(List<PaymentChange> changes) {
+        List<PaymentChange> captured = changes.stream()
+            .filter(change -> PaymentWebhookService.PAYMENT_CAPTURED.equals(change.event().getEvent()))
+            .toList();
+        if (captured.isEmpty()) {
+            return;
+        }
+        Set<String> existing = receiptRepository.findByPaymentIdIn(captured.stream().map(PaymentChange::paymentId).toList())
+            .stream().map(Receipt::getPaymentId).collect(Collectors.toSet());
+        for (PaymentChange change : captured) {
+            if (existing.contains(change.paymentId())) {
+                continue;
+            }
+            JsonNode notes = change.payment().path("notes");
+            String campaignId = notes.path("campaignId").asText(null);
+            if (campaignId == null) {
+                log.warn("Captured payment has no campaignId note; no receipt created. paymentId={}", change.paymentId());
+                continue;
+            }
+            PaymentVerificationRequest request = new PaymentVerificationRequest();
+            request.setCampaignId(campaignId);
+            request.setUserId(notes.path("userId").asText(null));
+            request.setDonorEmail(change.payment().path("email").asText(null));
+            request.setDonorPhone(change.payment().path("contact").asText(null));
+            request.setAmount(change.payment().path("amount").asLong() / 100.0);
+            request.setRazorpayOrderId(change.orderId());
+            request.setRazorpayPaymentId(change.paymentId());
+            ReceiptService.ReceiptProcessingResult result = receiptService.processVerifiedPayment(request);
+            existing.add(change.paymentId());
+            if (!result.alreadyProcessed()) {
+                log.info("Receipt created from webhook. paymentId={}, campaignId={}", change.paymentId(), campaignId);
+            }
+        }
+    }
+
+    private void retryOrDeadLetter(PaymentWebhookEvent event, String error) {
+        if (event.getAttempts() >= maxAttempts) {
+            log.error("Payment webhook moved to dead letter. eventId={}, attempts={}", event.getId(), event.getAttempts());
+            deadLetter(event, error);
+            return;
+        }
+        long delay = Math.min(retryMax.toMillis(), retryBase.toMillis() << Math.min(20, event.getAttempts() - 1));
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(event.getId()).and("lockToken").is(event.getLockToken())),
+            new Update().set("status", PaymentWebhookEvent.PENDING)
+                .set("availableAt", new Date(System.currentTimeMillis() + delay))
+                .set("lastError", error)
+                .unset("lockToken").unset("lockedUntil"),
+            PaymentWebhookEvent.class);
+    }
+
+    // Dead letters get failedAt, not processedAt, so the DONE-only TTL index keeps them for inspection
+    private void deadLetter(PaymentWebhookEvent event, String error) {
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("_id").is(event.getId()).and("lockToken").is(event.getLockToken())),
+            new Update().set("status", PaymentWebhookEvent.FAILED).set("failedAt", new Date()).set("lastError", error)
+                .unset("lockToken").unset("lockedUntil"),
+            PaymentWebhookEvent.class);
+    }
+}
@@ -0,0 +1,94 @@
+package com.crowdfund.backend.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.Set;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.exception.BadRequestException;
+import com.crowdfund.backend.model.PaymentWebhookEvent;
+import com.crowdfund.backend.util.HmacSha256Verifier;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Ingress side of the Razorpay webhook: verify, dedupe by event id, store, acknowledge. All payment
+// and receipt updates happen later in PaymentWebhookProcessor.
+@Service
+public class PaymentWebhookService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookService.class);
+
+    public static final String PAYMENT_CAPTURED = "payment.captured";
+    public static final String PAYMENT_FAILED = "payment.failed";
+    public static final String REFUND_PROCESSED = "refund.processed";
+    private static final Set<String> SUPPORTED = Set.of(PAYMENT_CAPTURED, PAYMENT_FAILED, REFUND_PROCESSED);
+
+    public enum Outcome { QUEUED, DUPLICATE, IGNORED }
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectMapper objectMapper;
+    private final HmacSha256Verifier verifier;
+    private final long settleDelayMs;
+
+    public PaymentWebhookService(
+            MongoTemplate mongoTemplate,
+            ObjectMapper objectMapper,
+            @Value("${razorpay.webhook.secret:}") String webhookSecret,
+            @Value("${app.payments.webhook.settle-delay:30s}") Duration settleDelay) {
+        this.mongoTemplate = mongoTemplate;
+        this.objectMapper = objectMapper;
+        this.settleDelayMs = settleDelay.toMillis();
+        this.verifier = new HmacSha256Verifier(webhookSecret.trim().getBytes(StandardCharsets.UTF_8));
+        if (!verifier.isConfigured()) {
+            log.warn("razorpay.webhook.secret is not set; Razorpay webhooks will be rejected");
+        }
+    }
+
+    public Outcome accept(byte[] body, String signature, String eventId) {
+        // Razorpay signs the exact bytes it sent, so verify before any parsing
+        if (!verifier.verify(signature, body)) {
+            throw new BadRequestException("Invalid webhook signature");
+        }
+        String event;
+        try {
+            event = objectMapper.readTree(body).path("event").asText("");
+        } catch (IOException ex) {
+            throw new BadRequestException("Webhook body is not valid JSON");
+        }
+        if (!SUPPORTED.contains(event)) {
+            log.debug("Ignoring Razorpay webhook. event={}, eventId={}", event, eventId);
+            return Outcome.IGNORED;
+        }
+
+        String id = eventId != null && !eventId.isBlank() ? eventId.trim() : "sha256:" + sha256(body);
+        Date now = new Date();
+        // The settle delay gives the browser's /verify call time to create the receipt first, so a
+        // captured webhook only creates one itself when checkout was abandoned
+        PaymentWebhookEvent inboxEvent = new PaymentWebhookEvent(
+            id, event, new String(body, StandardCharsets.UTF_8), now, new Date(now.getTime() + settleDelayMs));
+        try {
+            mongoTemplate.insert(inboxEvent);
+        } catch (DuplicateKeyException ex) {
+            return Outcome.DUPLICATE;
+        }
+        return Outcome.QUEUED;
+    }
+
+    private static String sha256(byte[] body) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+}
@@ -3,6 +3,14 @@ package com.crowdfund.backend.service;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.json.JSONObject;
 import org.slf4j.Logger;
@@ -11,10 +19,14 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import com.crowdfund.backend.dto.CreateOrderRequest;
+import com.crowdfund.backend.exception.TooManyRequestsException;
 import com.razorpay.Order;
 import com.razorpay.RazorpayClient;
 import com.razorpay.RazorpayException;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
 @Service
 public class RazorpayOrderService {
 
@@ -29,12 +41,76 @@ public class RazorpayOrderService {
     @Value("${razorpay.mode:test}")
     private String razorpayMode;
 
+    @Value("${razorpay.async.threads:16}")
+    private int asyncThreads;
+
+    @Value("${razorpay.async.queue:100}")
+    private int asyncQueue;
+
+    // Validated once at startup; a bad configuration is reported on every order instead of failing boot
+    private RazorpayConfig config;
+    private IllegalStateException configError;
+    private RazorpayClient razorpayClient;
+    private ThreadPoolExecutor orderExecutor;
+
+    @PostConstruct
+    void init() {
+        try {
+            config = validateConfiguration();
+            // The SDK keeps one static OkHttpClient that every RazorpayClient constructor rebuilds,
+            // so the client is created exactly once and shared (it holds no per-request state).
+            // Its timeouts and pool are SDK defaults: the public API offers no way to change them.
+            razorpayClient = new RazorpayClient(config.keyId(), config.keySecret());
+        } catch (IllegalStateException ex) {
+            configError = ex;
+            log.error("Razorpay is not configured; order creation will fail: {}", ex.getMessage());
+        } catch (RazorpayException ex) {
+            configError = new IllegalStateException("Razorpay client could not be created: " + ex.getMessage(), ex);
+            log.error("Razorpay client could not be created", ex);
+        }
+
+        AtomicInteger counter = new AtomicInteger();
+        orderExecutor = new ThreadPoolExecutor(asyncThreads, asyncThreads, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, asyncQueue)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "razorpay-order-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        orderExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        orderExecutor.shutdown();
+    }
+
+    // Runs the order call on a bounded pool so a slow gateway ties up these threads, not Tomcat's.
+    // Keep the action to the gateway call itself; a full queue fails fast with 429.
+    public <T> CompletableFuture<T> createOrderAsync(Callable<T> action) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return action.call();
+                } catch (RuntimeException ex) {
+                    throw ex;
+                } catch (Exception ex) {
+                    throw new CompletionException(ex);
+                }
+            }, orderExecutor);
+        } catch (RejectedExecutionException ex) {
+            log.warn("Razorpay order queue full. threads={}, queue={}", asyncThreads, asyncQueue);
+            return CompletableFuture.failedFuture(new TooManyRequestsException("Payment gateway is busy. Please retry in a few seconds"));
+        }
+    }
+
     public Map<String, Object> createOrder(CreateOrderRequest request) throws RazorpayException {
-        RazorpayConfig config = validateConfiguration();
+        if (configError != null) {
+            throw configError;
+        }
         validateRequest(request);
 
         int amountInPaise = Math.multiplyExact(request.getAmount(), 100);
-        RazorpayClient razorpayClient = new RazorpayClient(config.keyId(), config.keySecret());
 
         JSONObject notes = new JSONObject();
         notes.put("campaignId", request.getCampaignId());
@@ -87,7 +163,7 @@ public class RazorpayOrderService {
             throw new IllegalStateException("Razorpay mode/key mismatch. live mode requires rzp_live_ key.");
         }
 
-        log.info("Razorpay configuration loaded. mode={}, keyIdPrefix={}, keyIdSuffix={}",
+        log.info("Razorpay configuration validated. mode={}, keyIdPrefix={}, keyIdSuffix={}",
             mode, keyId.substring(0, Math.min(8, keyId.length())), keyId.substring(Math.max(0, keyId.length() - 4)));
 
         return new RazorpayConfig(keyId, keySecret, mode);
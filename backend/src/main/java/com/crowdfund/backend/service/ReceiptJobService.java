@@ -0,0 +1,238 @@
+package com.crowdfund.backend.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.model.ReceiptJob;
+import com.crowdfund.backend.repository.ReceiptRepository;
+
+import jakarta.annotation.PreDestroy;
+
+// Durable queue for receipt PDFs and emails. Verification only inserts a job (a periodic sweep covers
+// receipts whose insert never happened); a bounded pool of workers leases jobs one at a time, retries
+// failures with exponential backoff and parks jobs that run out of attempts as DEAD.
+@Service
+public class ReceiptJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReceiptJobService.class);
+    private static final int ORPHAN_BATCH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final ReceiptRepository receiptRepository;
+    private final PdfService pdfService;
+    private final EmailService emailService;
+    private final boolean enabled;
+    private final int workers;
+    private final int maxAttempts;
+    private final Duration lease;
+    private final Duration retryBase;
+    private final Duration retryMax;
+    private final Duration orphanGrace;
+    private final Duration orphanLookback;
+
+    private final AtomicInteger activeWorkers = new AtomicInteger();
+    private final ExecutorService executor;
+
+    public ReceiptJobService(
+            MongoTemplate mongoTemplate,
+            ReceiptRepository receiptRepository,
+            PdfService pdfService,
+            EmailService emailService,
+            @Value("${app.receipts.jobs.enabled:true}") boolean enabled,
+            @Value("${app.receipts.jobs.workers:4}") int workers,
+            @Value("${app.receipts.jobs.max-attempts:6}") int maxAttempts,
+            @Value("${app.receipts.jobs.lease:2m}") Duration lease,
+            @Value("${app.receipts.jobs.retry-base:30s}") Duration retryBase,
+            @Value("${app.receipts.jobs.retry-max:30m}") Duration retryMax,
+            @Value("${app.receipts.jobs.orphan-grace:1m}") Duration orphanGrace,
+            @Value("${app.receipts.jobs.orphan-lookback:7d}") Duration orphanLookback) {
+        this.mongoTemplate = mongoTemplate;
+        this.receiptRepository = receiptRepository;
+        this.pdfService = pdfService;
+        this.emailService = emailService;
+        this.enabled = enabled;
+        this.workers = Math.max(1, workers);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lease = lease;
+        this.retryBase = retryBase;
+        this.retryMax = retryMax;
+        this.orphanGrace = orphanGrace;
+        this.orphanLookback = orphanLookback;
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, runnable -> {
+            Thread thread = new Thread(runnable, "receipt-job-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Returns false if the job could not be stored; the receipt itself is already saved
+    public boolean enqueue(Receipt receipt) {
+        try {
+            mongoTemplate.insert(new ReceiptJob(receipt.getId(), receipt.getPaymentId(), new Date()));
+        } catch (DuplicateKeyException ex) {
+            return true;
+        } catch (DataAccessException ex) {
+            log.error("Could not queue receipt email. receiptId={}, paymentId={}", receipt.getId(), receipt.getPaymentId(), ex);
+            return false;
+        }
+        if (enabled) {
+            startWorker();
+        }
+        return true;
+    }
+
+    public Optional<ReceiptJob> findByPaymentId(String paymentId) {
+        return Optional.ofNullable(mongoTemplate.findOne(
+            Query.query(Criteria.where("paymentId").is(paymentId)).with(Sort.by(Sort.Direction.DESC, "createdAt")),
+            ReceiptJob.class));
+    }
+
+    // Picks up retries whose backoff has elapsed and jobs whose worker died mid-lease
+    @Scheduled(fixedDelayString = "${app.receipts.jobs.poll-interval:5s}")
+    public void poll() {
+        if (enabled) {
+            startWorker();
+        }
+    }
+
+    // The receipt and its job are two writes, so a crash or failed insert in between leaves a CAPTURED
+    // receipt nobody will email. The grace keeps this off receipts whose enqueue is still in flight;
+    // the lookback keeps it off receipts from before the job queue existed.
+    @Scheduled(fixedDelayString = "${app.receipts.jobs.orphan-sweep-interval:1m}")
+    public void enqueueOrphanedReceipts() {
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Aggregation orphans = Aggregation.newAggregation(
+            Aggregation.match(Criteria.where("status").is(Receipt.STATUS_CAPTURED)
+                .and("donationDateTime").gte(now.minus(orphanLookback)).lt(now.minus(orphanGrace))),
+            Aggregation.lookup("receipt_jobs", "_id", "_id", "job"),
+            Aggregation.match(Criteria.where("job").size(0)),
+            Aggregation.project("paymentId"),
+            Aggregation.limit(ORPHAN_BATCH));
+        int queued = 0;
+        for (Receipt receipt : mongoTemplate.aggregate(orphans, Receipt.class, Receipt.class)) {
+            try {
+                mongoTemplate.insert(new ReceiptJob(receipt.getId(), receipt.getPaymentId(), new Date()));
+                queued++;
+            } catch (DuplicateKeyException ex) {
+                // Queued meanwhile by verification or another node
+            }
+        }
+        if (queued > 0) {
+            log.warn("Queued receipt emails for receipts saved without a job. count={}", queued);
+            startWorker();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void startWorker() {
+        int active;
+        do {
+            active = activeWorkers.get();
+            if (active >= workers) {
+                return;
+            }
+        } while (!activeWorkers.compareAndSet(active, active + 1));
+        executor.execute(() -> {
+            try {
+                ReceiptJob job;
+                while ((job = claim()) != null) {
+                    run(job);
+                }
+            } catch (RuntimeException ex) {
+                log.error("Receipt job worker stopped", ex);
+            } finally {
+                activeWorkers.decrementAndGet();
+            }
+        });
+    }
+
+    private ReceiptJob claim() {
+        Date now = new Date();
+        Query due = new Query(new Criteria().orOperator(
+                Criteria.where("status").is(ReceiptJob.PENDING).and("availableAt").lte(now),
+                Criteria.where("status").is(ReceiptJob.PROCESSING).and("lockedUntil").lt(now)))
+            .with(Sort.by(Sort.Direction.ASC, "availableAt"));
+        Update lock = new Update()
+            .set("status", ReceiptJob.PROCESSING)
+            .set("lockToken", UUID.randomUUID().toString())
+            .set("lockedUntil", new Date(now.getTime() + lease.toMillis()))
+            .inc("attempts", 1);
+        return mongoTemplate.findAndModify(due, lock, FindAndModifyOptions.options().returnNew(true), ReceiptJob.class);
+    }
+
+    private void run(ReceiptJob job) {
+        Optional<Receipt> receipt = receiptRepository.findById(job.getId());
+        if (receipt.isEmpty()) {
+            complete(job, ReceiptJob.DEAD, "Receipt not found");
+            return;
+        }
+        try {
+            byte[] pdfBytes = pdfService.generateReceiptPdf(receipt.get());
+            emailService.sendReceiptEmail(receipt.get(), pdfBytes);
+            complete(job, ReceiptJob.SENT, null);
+            log.info("Receipt email sent. paymentId={}, attempts={}", job.getPaymentId(), job.getAttempts());
+        } catch (IllegalArgumentException ex) {
+            // Missing donor email and the like: retrying will not help
+            complete(job, ReceiptJob.DEAD, ex.getMessage());
+        } catch (RuntimeException ex) {
+            if (job.getAttempts() >= maxAttempts) {
+                log.error("Receipt email moved to dead letter. paymentId={}, attempts={}", job.getPaymentId(), job.getAttempts(), ex);
+                complete(job, ReceiptJob.DEAD, ex.getMessage());
+                return;
+            }
+            long delay = Math.min(retryMax.toMillis(), retryBase.toMillis() << Math.min(20, job.getAttempts() - 1));
+            log.warn("Receipt email failed, retrying in {}s. paymentId={}, attempts={}",
+                delay / 1000, job.getPaymentId(), job.getAttempts(), ex);
+            mongoTemplate.updateFirst(
+                leased(job),
+                new Update().set("status", ReceiptJob.PENDING)
+                    .set("availableAt", new Date(System.currentTimeMillis() + delay))
+                    .set("lastError", ex.getMessage())
+                    .unset("lockToken").unset("lockedUntil"),
+                ReceiptJob.class);
+        }
+    }
+
+    private void complete(ReceiptJob job, String status, String error) {
+        mongoTemplate.updateFirst(
+            leased(job),
+            new Update().set("status", status).set("completedAt", new Date()).set("lastError", error)
+                .unset("lockToken").unset("lockedUntil"),
+            ReceiptJob.class);
+    }
+
+    // Only the worker holding the current lease may move the job on
+    private static Query leased(ReceiptJob job) {
+        return Query.query(Criteria.where("_id").is(job.getId()).and("lockToken").is(job.getLockToken()));
+    }
+}
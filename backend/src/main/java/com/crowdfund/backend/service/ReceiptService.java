@@ -1,14 +1,20 @@
 package com.crowdfund.backend.service;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
 import java.util.Optional;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import com.crowdfund.backend.dto.PaymentVerificationRequest;
+import com.crowdfund.backend.event.DonationRecordedEvent;
 import com.crowdfund.backend.model.Receipt;
+import com.crowdfund.backend.model.ReceiptJob;
 import com.crowdfund.backend.repository.ReceiptRepository;
 
 @Service
@@ -18,16 +24,19 @@ public class ReceiptService {
 
     private final ReceiptRepository receiptRepository;
     private final PdfService pdfService;
-    private final EmailService emailService;
+    private final ReceiptJobService receiptJobService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ReceiptService(
         ReceiptRepository receiptRepository,
         PdfService pdfService,
-        EmailService emailService
+        ReceiptJobService receiptJobService,
+        ApplicationEventPublisher eventPublisher
     ) {
         this.receiptRepository = receiptRepository;
         this.pdfService = pdfService;
-        this.emailService = emailService;
+        this.receiptJobService = receiptJobService;
+        this.eventPublisher = eventPublisher;
     }
 
     public ReceiptProcessingResult processVerifiedPayment(PaymentVerificationRequest request) {
@@ -47,20 +56,36 @@ public class ReceiptService {
         receipt.setPaymentId(request.getRazorpayPaymentId());
         receipt.setOrderId(request.getRazorpayOrderId());
         receipt.setDonationDateTime(LocalDateTime.now());
+        receipt.setStatus(Receipt.STATUS_CAPTURED);
 
-        Receipt savedReceipt = receiptRepository.save(receipt);
-        boolean emailSent = false;
-
+        Receipt savedReceipt;
         try {
-            byte[] pdfBytes = pdfService.generateReceiptPdf(savedReceipt);
-            emailService.sendReceiptEmail(savedReceipt, pdfBytes);
-            emailSent = true;
-        } catch (Exception ex) {
-            // Keep receipt persistence successful even if email fails.
-            log.error("Receipt created but email failed for paymentId={}", savedReceipt.getPaymentId(), ex);
+            savedReceipt = receiptRepository.insert(receipt);
+        } catch (DuplicateKeyException ex) {
+            // The other path (verify or webhook) won the race; it already published the donation and queued the email
+            Optional<Receipt> winner = receiptRepository.findByPaymentId(request.getRazorpayPaymentId());
+            if (winner.isEmpty()) {
+                throw ex;
+            }
+            return new ReceiptProcessingResult(winner.get(), false, true);
+        }
+        eventPublisher.publishEvent(new DonationRecordedEvent(
+            savedReceipt.getCampaignId(),
+            savedReceipt.getUserId(),
+            savedReceipt.getDonorName(),
+            false,
+            savedReceipt.getAmount(),
+            Date.from(savedReceipt.getDonationDateTime().atZone(ZoneId.systemDefault()).toInstant()),
+            DonationRecordedEvent.Source.VERIFIED_PAYMENT
+        ));
+
+        // PDF rendering and SMTP happen on the receipt job workers, not on the checkout request
+        boolean emailQueued = receiptJobService.enqueue(savedReceipt);
+        if (!emailQueued) {
+            log.warn("Receipt saved but email was not queued for paymentId={}", savedReceipt.getPaymentId());
         }
 
-        return new ReceiptProcessingResult(savedReceipt, emailSent, false);
+        return new ReceiptProcessingResult(savedReceipt, emailQueued, false);
     }
 
     public Optional<Receipt> findByPaymentId(String paymentId) {
@@ -71,6 +96,10 @@ public class ReceiptService {
         return pdfService.generateReceiptPdf(receipt);
     }
 
-    public record ReceiptProcessingResult(Receipt receipt, boolean emailSent, boolean alreadyProcessed) {
+    public Optional<ReceiptJob> findJobByPaymentId(String paymentId) {
+        return receiptJobService.findByPaymentId(paymentId);
+    }
+
+    public record ReceiptProcessingResult(Receipt receipt, boolean emailQueued, boolean alreadyProcessed) {
     }
 }
@@ -0,0 +1,74 @@
+package com.crowdfund.backend.util;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+// Keeps the highest-scoring keys, at most capacity of them. Scores may move in either direction;
+// keys pushed out by a decrease are only brought back by the owner's periodic reconciliation.
+public class BoundedTopK<K extends Comparable<K>> {
+
+    public record Entry<K>(K key, double score) {}
+
+    private final int capacity;
+    private final Map<K, Double> scores = new HashMap<>();
+    private final TreeSet<Entry<K>> ranked;
+
+    public BoundedTopK(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        Comparator<Entry<K>> byScoreDesc = Comparator.comparingDouble((Entry<K> entry) -> entry.score()).reversed();
+        this.ranked = new TreeSet<>(byScoreDesc.thenComparing(Entry::key));
+    }
+
+    // Returns false when the key did not make it into the top capacity
+    public synchronized boolean offer(K key, double score) {
+        Double previous = scores.get(key);
+        if (previous != null) {
+            if (previous == score) return true;
+            ranked.remove(new Entry<>(key, previous));
+        } else if (scores.size() >= capacity && score <= ranked.last().score()) {
+            return false;
+        }
+        scores.put(key, score);
+        ranked.add(new Entry<>(key, score));
+        while (ranked.size() > capacity) {
+            Entry<K> evicted = ranked.pollLast();
+            scores.remove(evicted.key());
+        }
+        return scores.containsKey(key);
+    }
+
+    public synchronized Double scoreOf(K key) {
+        return scores.get(key);
+    }
+
+    public synchronized void remove(K key) {
+        Double previous = scores.remove(key);
+        if (previous != null) {
+            ranked.remove(new Entry<>(key, previous));
+        }
+    }
+
+    public synchronized boolean contains(K key) {
+        return scores.containsKey(key);
+    }
+
+    public synchronized List<Entry<K>> top(int n) {
+        List<Entry<K>> result = new ArrayList<>(Math.min(n, ranked.size()));
+        Iterator<Entry<K>> iterator = ranked.iterator();
+        while (iterator.hasNext() && result.size() < n) {
+            result.add(iterator.next());
+        }
+        return result;
+    }
+
+    public synchronized void replaceAll(Map<K, Double> newScores) {
+        scores.clear();
+        ranked.clear();
+        newScores.forEach(this::offer);
+    }
+}
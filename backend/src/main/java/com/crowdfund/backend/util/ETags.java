@@ -0,0 +1,50 @@
+package com.crowdfund.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+public final class ETags {
+
+    private ETags() {}
+
+    // Strong validator for a single campaign: content version plus the raisedAmount the body shows
+    // (stored total + not-yet-flushed deltas) in paise. Donations do not bump the version.
+    public static String forCampaign(long version, long raisedPaise) {
+        return "\"" + version + "-" + raisedPaise + "\"";
+    }
+
+    // Version part of an If-Match value produced by forCampaign; null when absent or unparseable
+    public static Long parseCampaignVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank()) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        value = value.replace("\"", "");
+        int dash = value.indexOf('-');
+        try {
+            return Long.parseLong(dash >= 0 ? value.substring(0, dash) : value);
+        } catch (NumberFormatException ex) {
+            return null;
+        }
+    }
+
+    // Weak validator for a collection response, hashed over whatever identifies its contents
+    public static String weak(Iterable<?> parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Object part : parts) {
+                digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            byte[] hash = digest.digest();
+            return "W/\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(hash).substring(0, 22) + "\"";
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
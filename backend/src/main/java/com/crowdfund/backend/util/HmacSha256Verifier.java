@@ -0,0 +1,68 @@
+package com.crowdfund.backend.util;
+
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+// Checks hex-encoded HMAC-SHA256 signatures against one fixed secret. Each thread keeps its own
+// pre-keyed Mac (Mac is not thread-safe), and the incoming hex is decoded to bytes so our digest is
+// never formatted as a string.
+public final class HmacSha256Verifier {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int DIGEST_LENGTH = 32;
+
+    private final ThreadLocal<Mac> macs;
+
+    // A null or empty key yields a verifier that rejects everything
+    public HmacSha256Verifier(byte[] key) {
+        if (key == null || key.length == 0) {
+            this.macs = null;
+            return;
+        }
+        SecretKeySpec secretKey = new SecretKeySpec(key, ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> {
+            try {
+                Mac mac = Mac.getInstance(ALGORITHM);
+                mac.init(secretKey);
+                return mac;
+            } catch (GeneralSecurityException ex) {
+                throw new IllegalStateException("HmacSHA256 is not available", ex);
+            }
+        });
+        // Fail at construction rather than on the first request
+        macs.get();
+    }
+
+    public boolean isConfigured() {
+        return macs != null;
+    }
+
+    // The parts are fed to the MAC in order, as if concatenated
+    public boolean verify(String hexSignature, byte[]... parts) {
+        byte[] expected = decode(hexSignature);
+        if (expected == null || macs == null) {
+            return false;
+        }
+        Mac mac = macs.get();
+        for (byte[] part : parts) {
+            mac.update(part);
+        }
+        // doFinal resets the Mac, so the cached instance is ready for the next call
+        return MessageDigest.isEqual(mac.doFinal(), expected);
+    }
+
+    private static byte[] decode(String hexSignature) {
+        if (hexSignature == null || hexSignature.length() != DIGEST_LENGTH * 2) {
+            return null;
+        }
+        try {
+            return HexFormat.of().parseHex(hexSignature);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+}
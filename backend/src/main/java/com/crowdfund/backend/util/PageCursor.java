@@ -0,0 +1,45 @@
+package com.crowdfund.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+import org.bson.types.ObjectId;
+
+import com.crowdfund.backend.exception.BadRequestException;
+
+// Opaque keyset position: (createdAt, _id) of the last item on the previous page.
+public record PageCursor(Date createdAt, ObjectId id) {
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    public static String encode(Date createdAt, String id) {
+        if (createdAt == null || id == null) {
+            return null;
+        }
+        String raw = createdAt.getTime() + ":" + id;
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(DECODER.decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator <= 0) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            long millis = Long.parseLong(raw.substring(0, separator));
+            String id = raw.substring(separator + 1);
+            if (!ObjectId.isValid(id)) {
+                throw new BadRequestException("Invalid page cursor");
+            }
+            return new PageCursor(new Date(millis), new ObjectId(id));
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+}
@@ -1,12 +1,7 @@
 package com.crowdfund.backend.util;
 
 import java.nio.charset.StandardCharsets;
-import java.security.InvalidKeyException;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-
-import javax.crypto.Mac;
-import javax.crypto.spec.SecretKeySpec;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
@@ -14,44 +9,36 @@ import org.springframework.stereotype.Component;
 @Component
 public class RazorpaySignatureUtil {
 
-    @Value("${razorpay.key.secret:}")
-    private String razorpayKeySecret;
+    private static final byte[] SEPARATOR = { '|' };
 
-    public boolean isSignatureValid(String orderId, String paymentId, String razorpaySignature) {
-        String secret = sanitizeCredential(razorpayKeySecret);
-        if (isBlank(orderId) || isBlank(paymentId) || isBlank(razorpaySignature) || isBlank(secret)) {
-            return false;
-        }
+    // Keyed once from the sanitized secret; see HmacSha256Verifier for the per-thread Mac cache
+    private final HmacSha256Verifier verifier;
 
-        String data = orderId + "|" + paymentId;
-        String expectedSignature = hmacSha256(data, secret);
-        return MessageDigest.isEqual(
-            expectedSignature.getBytes(StandardCharsets.UTF_8),
-            razorpaySignature.getBytes(StandardCharsets.UTF_8)
-        );
+    public RazorpaySignatureUtil(@Value("${razorpay.key.secret:}") String razorpayKeySecret) {
+        this.verifier = new HmacSha256Verifier(sanitizeCredential(razorpayKeySecret).getBytes(StandardCharsets.UTF_8));
     }
 
-    private String hmacSha256(String data, String secret) {
-        try {
-            Mac sha256Hmac = Mac.getInstance("HmacSHA256");
-            SecretKeySpec secretKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
-            sha256Hmac.init(secretKey);
-            byte[] hash = sha256Hmac.doFinal(data.getBytes(StandardCharsets.UTF_8));
-            return bytesToHex(hash);
-        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
-            throw new IllegalStateException("Failed to verify Razorpay signature", ex);
+    public record SignatureCheck(String orderId, String paymentId, String signature) {}
+
+    public boolean isSignatureValid(String orderId, String paymentId, String razorpaySignature) {
+        if (isBlank(orderId) || isBlank(paymentId) || isBlank(razorpaySignature)) {
+            return false;
         }
+        return verifier.verify(razorpaySignature,
+            orderId.getBytes(StandardCharsets.UTF_8), SEPARATOR, paymentId.getBytes(StandardCharsets.UTF_8));
     }
 
-    private String bytesToHex(byte[] bytes) {
-        StringBuilder sb = new StringBuilder(bytes.length * 2);
-        for (byte b : bytes) {
-            sb.append(String.format("%02x", b));
+    // For reconciliation jobs; result[i] is the outcome of checks.get(i)
+    public boolean[] verifyAll(List<SignatureCheck> checks) {
+        boolean[] results = new boolean[checks.size()];
+        for (int i = 0; i < results.length; i++) {
+            SignatureCheck check = checks.get(i);
+            results[i] = isSignatureValid(check.orderId(), check.paymentId(), check.signature());
         }
-        return sb.toString();
+        return results;
     }
 
-    private String sanitizeCredential(String value) {
+    private static String sanitizeCredential(String value) {
         if (value == null) {
             return "";
         }
@@ -66,7 +53,7 @@ public class RazorpaySignatureUtil {
         return sanitized;
     }
 
-    private boolean isBlank(String value) {
+    private static boolean isBlank(String value) {
         return value == null || value.isBlank();
     }
 }
@@ -3,7 +3,7 @@ package com.crowdfund.backend;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "app.donations.write-behind.node-id=context-test")
 class BackendApplicationTests {
 
 	@Test
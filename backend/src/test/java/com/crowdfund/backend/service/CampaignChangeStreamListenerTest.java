@@ -0,0 +1,80 @@
+package com.crowdfund.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.repository.CampaignRepository;
+
+// Needs a single-node replica set, e.g.:
+//   mongod --replSet rs0 --dbpath /tmp/rs0 && mongosh --eval 'rs.initiate()'
+//   MONGODB_REPLICA_SET_URI='mongodb://localhost:27017/?replicaSet=rs0' mvn test
+@SpringBootTest(properties = {
+    "spring.data.mongodb.uri=${MONGODB_REPLICA_SET_URI}",
+    "spring.data.mongodb.database=donation-backend-test",
+    "app.campaigns.change-stream.enabled=true",
+    "app.migrations.campaign-backfill.enabled=false",
+    "app.donations.write-behind.node-id=change-stream-test",
+    "app.campaigns.change-stream.node-id=change-stream-test"
+})
+@EnabledIfEnvironmentVariable(named = "MONGODB_REPLICA_SET_URI", matches = ".+")
+class CampaignChangeStreamListenerTest {
+
+    @Autowired
+    private CampaignManager campaignManager;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String campaignId;
+
+    @AfterEach
+    void cleanUp() {
+        if (campaignId != null) {
+            campaignRepository.deleteById(campaignId);
+        }
+    }
+
+    @Test
+    void remoteWriteEvictsCachedCampaign() throws InterruptedException {
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Before");
+        campaign.setNgoName("Test NGO");
+        campaignId = campaignRepository.save(campaign).getId();
+
+        assertEquals("Before", campaignManager.getCampaignById(campaignId).orElseThrow().getTitle());
+
+        // Bypasses CampaignManager, like a write made by another application node
+        mongoTemplate.updateFirst(
+            Query.query(Criteria.where("id").is(campaignId)),
+            Update.update("title", "After"),
+            Campaign.class);
+
+        String title = null;
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<Campaign> cached = campaignManager.getCampaignById(campaignId);
+            title = cached.map(Campaign::getTitle).orElse(null);
+            if ("After".equals(title)) {
+                break;
+            }
+            Thread.sleep(100);
+        }
+        assertTrue("After".equals(title), "Cached campaign was not evicted by the change stream");
+    }
+}
@@ -0,0 +1,144 @@
+package com.crowdfund.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.RETURNS_SELF;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.crowdfund.backend.event.CampaignTotalsFlushedEvent;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.DonationAggregatorState;
+import com.crowdfund.backend.repository.DonationAggregatorStateRepository;
+import com.mongodb.bulk.BulkWriteError;
+
+class DonationAggregatorTest {
+
+    private final MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+    private final DonationAggregatorStateRepository stateRepository = mock(DonationAggregatorStateRepository.class);
+    private final CampaignCache campaignCache = mock(CampaignCache.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final BulkOperations bulk = mock(BulkOperations.class, RETURNS_SELF);
+
+    // Filled in bulk order, so index i of a BulkWriteError is campaignOrder.get(i)
+    private final List<String> campaignOrder = new ArrayList<>();
+    private final List<Update> updates = new ArrayList<>();
+    private DonationAggregator aggregator;
+
+    @BeforeEach
+    void setUp() {
+        when(stateRepository.findById("node-a")).thenReturn(Optional.empty());
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Campaign.class)).thenReturn(bulk);
+        when(bulk.updateOne(any(Query.class), any(Update.class))).thenAnswer(invocation -> {
+            Query query = invocation.getArgument(0);
+            campaignOrder.add(query.getQueryObject().getString("id"));
+            updates.add(invocation.getArgument(1));
+            return bulk;
+        });
+        aggregator = new DonationAggregator(mongoTemplate, stateRepository, campaignCache, eventPublisher, true, 500, "node-a",
+            Duration.ofSeconds(30));
+        aggregator.recoverAndStartSession();
+    }
+
+    @Test
+    void flushWritesCoalescedDeltasAndClearsThem() {
+        aggregator.add("a", 100.25);
+        aggregator.add("a", 50);
+        aggregator.add("b", 10);
+
+        aggregator.flush();
+
+        assertEquals(2, campaignOrder.size());
+        Document incA = (Document) updates.get(campaignOrder.indexOf("a")).getUpdateObject().get("$inc");
+        assertEquals(150.25, incA.get("raisedAmount"));
+        assertEquals(15025L, incA.get("aggregatorFlushedPaise." + aggregator.sessionId()));
+        assertEquals(0, aggregator.pendingAmount("a"));
+        assertEquals(0, aggregator.pendingAmount("b"));
+        verify(campaignCache).evict("a");
+        verify(campaignCache).evict("b");
+        verify(eventPublisher).publishEvent(new CampaignTotalsFlushedEvent(Set.of("a", "b")));
+
+        // Nothing pending: no second bulk write
+        aggregator.flush();
+        verify(bulk, times(1)).execute();
+    }
+
+    @Test
+    void partialBulkFailureKeepsOnlyFailedDeltas() {
+        aggregator.add("a", 10);
+        aggregator.add("b", 20);
+        BulkOperationException failure = mock(BulkOperationException.class);
+        when(bulk.execute()).thenAnswer(invocation -> {
+            when(failure.getErrors()).thenReturn(List.of(
+                new BulkWriteError(11000, "write failed", new BsonDocument(), campaignOrder.indexOf("b"))));
+            throw failure;
+        });
+
+        aggregator.flush();
+
+        assertEquals(0, aggregator.pendingAmount("a"));
+        assertEquals(20, aggregator.pendingAmount("b"));
+        verify(campaignCache).evict("a");
+        verify(campaignCache, never()).evict("b");
+        verify(eventPublisher).publishEvent(new CampaignTotalsFlushedEvent(Set.of("a")));
+    }
+
+    @Test
+    void writeBehindRequiresAnExplicitNodeId() {
+        DonationAggregator unnamed = new DonationAggregator(mongoTemplate, stateRepository, campaignCache, eventPublisher, true, 500, "",
+            Duration.ofSeconds(30));
+
+        assertThrows(IllegalStateException.class, unnamed::recoverAndStartSession);
+    }
+
+    @Test
+    void liveSessionWithTheSameNodeIdIsNotRecovered() {
+        Date leaseUntil = new Date(System.currentTimeMillis() + 100);
+        Date renewed = new Date(leaseUntil.getTime() + 30_000);
+        when(stateRepository.findById("node-b")).thenReturn(
+            Optional.of(new DonationAggregatorState("node-b", "live-session", new Date(), null, false, leaseUntil)),
+            Optional.of(new DonationAggregatorState("node-b", "live-session", new Date(), null, false, renewed)));
+        DonationAggregator duplicate = new DonationAggregator(mongoTemplate, stateRepository, campaignCache, eventPublisher, true, 500,
+            "node-b", Duration.ofSeconds(30));
+
+        // The other process kept heartbeating while we waited, so it is alive: refuse to start
+        assertThrows(IllegalStateException.class, duplicate::recoverAndStartSession);
+        verify(mongoTemplate, never()).aggregate(any(Aggregation.class), eq(Donation.class), eq(Document.class));
+    }
+
+    @Test
+    void failedFlushKeepsEverythingForRetry() {
+        aggregator.add("a", 10);
+        when(bulk.execute()).thenThrow(new IllegalStateException("primary stepped down"));
+
+        aggregator.flush();
+
+        assertEquals(10, aggregator.pendingAmount("a"));
+        verify(campaignCache, never()).evict(eq("a"));
+    }
+}
@@ -0,0 +1,101 @@
+package com.crowdfund.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.crowdfund.backend.dto.DonationRequest;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.User;
+import com.crowdfund.backend.repository.CampaignRepository;
+import com.crowdfund.backend.repository.DonationRepository;
+import com.crowdfund.backend.repository.UserRepository;
+
+// Runs against a real MongoDB: MONGODB_TEST_URI='mongodb://localhost:27017' mvn test
+// Covers the atomic $inc path; DonationWriteBehindIntegrationTest covers the default write-behind path
+@SpringBootTest(properties = {
+    "spring.data.mongodb.uri=${MONGODB_TEST_URI}",
+    "spring.data.mongodb.database=donation-backend-test",
+    "app.migrations.campaign-backfill.enabled=false",
+    "app.donations.write-behind.enabled=false"
+})
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class DonationManagerConcurrencyTest {
+
+    private static final int DONATIONS = 4000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private DonationManager donationManager;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private String campaignId;
+    private String userId;
+
+    @AfterEach
+    void cleanUp() {
+        if (campaignId != null) {
+            donationRepository.deleteAll(donationRepository.findByCampaignId(campaignId));
+            campaignRepository.deleteById(campaignId);
+        }
+        if (userId != null) {
+            userRepository.deleteById(userId);
+        }
+    }
+
+    @Test
+    void parallelDonationsAreNotLost() throws Exception {
+        User donor = new User();
+        donor.setName("Concurrent Donor");
+        userId = userRepository.save(donor).getId();
+
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Viral campaign");
+        campaign.setTargetAmount(1_000_000);
+        campaignId = campaignRepository.save(campaign).getId();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < DONATIONS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    DonationRequest request = new DonationRequest();
+                    request.setAmount(1.0);
+                    donationManager.donate(campaignId, userId, request);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Campaign reloaded = campaignRepository.findById(campaignId).orElseThrow();
+        assertEquals(DONATIONS, reloaded.getRaisedAmount(), 0.0001);
+        assertEquals(DONATIONS, donationRepository.findByCampaignId(campaignId).size());
+    }
+}
@@ -0,0 +1,178 @@
+package com.crowdfund.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.crowdfund.backend.dto.DonationRequest;
+import com.crowdfund.backend.model.Campaign;
+import com.crowdfund.backend.model.Donation;
+import com.crowdfund.backend.model.User;
+import com.crowdfund.backend.repository.CampaignRepository;
+import com.crowdfund.backend.repository.DonationAggregatorStateRepository;
+import com.crowdfund.backend.repository.DonationRepository;
+import com.crowdfund.backend.repository.UserRepository;
+
+// Runs against a real MongoDB with write-behind on (the production default):
+//   MONGODB_TEST_URI='mongodb://localhost:27017' mvn test
+@SpringBootTest(properties = {
+    "spring.data.mongodb.uri=${MONGODB_TEST_URI}",
+    "spring.data.mongodb.database=donation-backend-test",
+    "app.migrations.campaign-backfill.enabled=false",
+    "app.donations.write-behind.enabled=true",
+    "app.donations.write-behind.node-id=write-behind-test-context"
+})
+@EnabledIfEnvironmentVariable(named = "MONGODB_TEST_URI", matches = ".+")
+class DonationWriteBehindIntegrationTest {
+
+    private static final int DONATIONS = 4000;
+    private static final int THREADS = 64;
+    private static final String NODE_A = "write-behind-test-a";
+    private static final String NODE_B = "write-behind-test-b";
+    // Short, so restarting the "crashed" node A only waits this long for its stale lease
+    private static final Duration LEASE = Duration.ofMillis(200);
+
+    @Autowired
+    private DonationManager donationManager;
+
+    @Autowired
+    private DonationAggregator donationAggregator;
+
+    @Autowired
+    private CampaignRepository campaignRepository;
+
+    @Autowired
+    private DonationRepository donationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private DonationAggregatorStateRepository stateRepository;
+
+    @Autowired
+    private CampaignCache campaignCache;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    private String campaignId;
+    private String userId;
+
+    @AfterEach
+    void cleanUp() {
+        if (campaignId != null) {
+            donationRepository.deleteAll(donationRepository.findByCampaignId(campaignId));
+            campaignRepository.deleteById(campaignId);
+        }
+        if (userId != null) {
+            userRepository.deleteById(userId);
+        }
+        stateRepository.deleteById(NODE_A);
+        stateRepository.deleteById(NODE_B);
+    }
+
+    @Test
+    void parallelDonationsAreNotLostWithWriteBehind() throws Exception {
+        User donor = new User();
+        donor.setName("Concurrent Donor");
+        userId = userRepository.save(donor).getId();
+        campaignId = saveCampaign(0);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < DONATIONS; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    DonationRequest request = new DonationRequest();
+                    request.setAmount(1.0);
+                    donationManager.donate(campaignId, userId, request);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        donationAggregator.flush();
+
+        Campaign reloaded = campaignRepository.findById(campaignId).orElseThrow();
+        assertEquals(DONATIONS, reloaded.getRaisedAmount(), 0.0001);
+        assertEquals(0, donationAggregator.pendingAmount(campaignId), 0.0001);
+        assertEquals(DONATIONS, donationRepository.findByCampaignId(campaignId).size());
+    }
+
+    @Test
+    void recoveryReappliesOnlyTheCrashedNodesUnflushedDeltas() {
+        // Seeded total with no donation rows behind it; recovery must not overwrite it
+        campaignId = saveCampaign(1000);
+
+        DonationAggregator nodeA = startNode(NODE_A);
+        DonationAggregator nodeB = startNode(NODE_B);
+
+        donate(nodeA, 100);
+        donate(nodeA, 200);
+        nodeA.flush();
+        donate(nodeA, 50);   // persisted, never flushed: node A "crashes" here
+        donate(nodeB, 70);   // node B is still running with this pending
+
+        DonationAggregator restartedA = startNode(NODE_A);
+        assertEquals(1350, raised(), 0.0001);
+
+        nodeB.flush();
+        assertEquals(1420, raised(), 0.0001);
+
+        // Running recovery for the same session again changes nothing
+        restartedA.recoverSession(nodeA.sessionId());
+        assertEquals(1420, raised(), 0.0001);
+
+        restartedA.shutdown();
+        nodeB.shutdown();
+    }
+
+    private DonationAggregator startNode(String nodeId) {
+        DonationAggregator aggregator = new DonationAggregator(mongoTemplate, stateRepository, campaignCache, event -> {}, true, 500, nodeId, LEASE);
+        aggregator.recoverAndStartSession();
+        return aggregator;
+    }
+
+    private void donate(DonationAggregator node, double amount) {
+        Donation donation = new Donation();
+        donation.setCampaignId(campaignId);
+        donation.setAmount(amount);
+        donation.setPaymentStatus("SUCCESS");
+        donation.setAggregatorSession(node.sessionId());
+        donationRepository.save(donation);
+        node.add(campaignId, amount);
+    }
+
+    private String saveCampaign(double raisedAmount) {
+        Campaign campaign = new Campaign();
+        campaign.setTitle("Write-behind campaign");
+        campaign.setTargetAmount(1_000_000);
+        campaign.setRaisedAmount(raisedAmount);
+        return campaignRepository.save(campaign).getId();
+    }
+
+    private double raised() {
+        return campaignRepository.findById(campaignId).orElseThrow().getRaisedAmount();
+    }
+}
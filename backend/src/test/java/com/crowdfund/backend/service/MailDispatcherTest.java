@@ -0,0 +1,122 @@
+package com.crowdfund.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+class MailDispatcherTest {
+
+    @RegisterExtension
+    static final GreenMailExtension greenMail = new GreenMailExtension(ServerSetupTest.SMTP);
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JavaMailSenderImpl mailSender;
+    private MailDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        mailSender = new JavaMailSenderImpl();
+        mailSender.setHost("localhost");
+        mailSender.setPort(ServerSetupTest.SMTP.getPort());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (dispatcher != null) {
+            dispatcher.shutdown();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessagesOverPooledConnections() throws Exception {
+        dispatcher = dispatcher(2, 0);
+
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            results.add(dispatcher.submit(message("donor" + i + "@example.com")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+
+        assertEquals(30, greenMail.getReceivedMessages().length);
+        assertEquals(30, meterRegistry.get("mail.send").tag("result", "success").timer().count());
+        assertEquals(0, meterRegistry.get("mail.queue.depth").gauge().value());
+        // Connections stay open between batches instead of one per message
+        assertTrue(meterRegistry.get("mail.transports.open").gauge().value() <= 2);
+    }
+
+    @Test
+    void enforcesRateLimit() throws Exception {
+        dispatcher = dispatcher(2, 5);
+
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            results.add(dispatcher.submit(message("donor" + i + "@example.com")));
+        }
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 5 go out on the initial burst, the other 5 at 5 per second
+        assertEquals(10, greenMail.getReceivedMessages().length);
+        assertTrue(elapsedMs >= 800, "sent too fast: " + elapsedMs + "ms");
+    }
+
+    @Test
+    void timedOutSendIsWithdrawnAndNeverDelivered() throws Exception {
+        dispatcher = dispatcher(1, 1, Duration.ofMillis(200));
+
+        // One sender at 1 per second: the later messages wait in the queue
+        List<CompletableFuture<Void>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(dispatcher.submit(message("donor" + i + "@example.com")));
+        }
+        assertThrows(MessagingException.class, () -> dispatcher.send(message("late@example.com")));
+        CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(30, TimeUnit.SECONDS);
+        Thread.sleep(1500);
+
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        for (MimeMessage received : greenMail.getReceivedMessages()) {
+            assertNotEquals("late@example.com", received.getAllRecipients()[0].toString());
+        }
+    }
+
+    private MailDispatcher dispatcher(int poolSize, double ratePerSecond) {
+        return dispatcher(poolSize, ratePerSecond, Duration.ofSeconds(30));
+    }
+
+    private MailDispatcher dispatcher(int poolSize, double ratePerSecond, Duration sendTimeout) {
+        return new MailDispatcher(mailSender, meterRegistry, poolSize, 10, 100, ratePerSecond,
+            Duration.ofSeconds(30), sendTimeout);
+    }
+
+    private MimeMessage message(String to) throws Exception {
+        MimeMessage message = dispatcher.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message);
+        helper.setFrom("receipts@example.com");
+        helper.setTo(to);
+        helper.setSubject("Donation receipt");
+        helper.setText("Thank you for your donation.");
+        return message;
+    }
+}
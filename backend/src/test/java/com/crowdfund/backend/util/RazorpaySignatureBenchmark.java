@@ -0,0 +1,96 @@
+package com.crowdfund.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// Compares the previous per-call Mac.getInstance/init + String.format verification with the cached
+// Mac path. Not a test; run with:
+//   mvn -q test-compile && java -cp "target/test-classes:target/classes:$(mvn -q dependency:build-classpath -Dmdep.outputFile=/dev/stdout)" \
+//       com.crowdfund.backend.util.RazorpaySignatureBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class RazorpaySignatureBenchmark {
+
+    private static final String SECRET = "bench_secret_0123456789";
+    private static final int BATCH = 1000;
+
+    private RazorpaySignatureUtil util;
+    private String orderId;
+    private String paymentId;
+    private String signature;
+    private List<RazorpaySignatureUtil.SignatureCheck> batch;
+
+    @Setup
+    public void setUp() throws Exception {
+        util = new RazorpaySignatureUtil(SECRET);
+        orderId = "order_NpRkqXyZ0a1b2c";
+        paymentId = "pay_NpRl3d4e5f6g7h";
+        signature = legacyHex(orderId + "|" + paymentId);
+        batch = new ArrayList<>(BATCH);
+        for (int i = 0; i < BATCH; i++) {
+            String order = "order_" + i;
+            String payment = "pay_" + i;
+            batch.add(new RazorpaySignatureUtil.SignatureCheck(order, payment, legacyHex(order + "|" + payment)));
+        }
+    }
+
+    @Benchmark
+    public boolean legacy() throws Exception {
+        String expected = legacyHex(orderId + "|" + paymentId);
+        return MessageDigest.isEqual(expected.getBytes(StandardCharsets.UTF_8), signature.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Benchmark
+    public boolean cachedMac() {
+        return util.isSignatureValid(orderId, paymentId, signature);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public boolean[] cachedMacBatch() {
+        return util.verifyAll(batch);
+    }
+
+    // The implementation this replaced, kept here as the baseline
+    private static String legacyHex(String data) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] hash = mac.doFinal(data.getBytes(StandardCharsets.UTF_8));
+        StringBuilder sb = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RazorpaySignatureBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,40 @@
+package com.crowdfund.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class RazorpaySignatureUtilTest {
+
+    // HMAC-SHA256("order_1|pay_1", "secret"), computed independently with openssl
+    private static final String SIGNATURE = "52115a0d3400de9e86aade1f1b6eba9e8974604f4e267a9e9a16633a4c8dd2cb";
+
+    private final RazorpaySignatureUtil util = new RazorpaySignatureUtil(" \"secret\" ");
+
+    @Test
+    void acceptsMatchingSignature() {
+        assertTrue(util.isSignatureValid("order_1", "pay_1", SIGNATURE));
+        assertTrue(util.isSignatureValid("order_1", "pay_1", SIGNATURE.toUpperCase()));
+    }
+
+    @Test
+    void rejectsTamperedOrMalformedSignatures() {
+        assertFalse(util.isSignatureValid("order_1", "pay_2", SIGNATURE));
+        assertFalse(util.isSignatureValid("order_1", "pay_1", SIGNATURE.substring(2)));
+        assertFalse(util.isSignatureValid("order_1", "pay_1", "zz" + SIGNATURE.substring(2)));
+        assertFalse(util.isSignatureValid("order_1", "pay_1", null));
+        assertFalse(new RazorpaySignatureUtil("").isSignatureValid("order_1", "pay_1", SIGNATURE));
+    }
+
+    @Test
+    void verifiesBatchesInOrder() {
+        boolean[] results = util.verifyAll(List.of(
+            new RazorpaySignatureUtil.SignatureCheck("order_1", "pay_1", SIGNATURE),
+            new RazorpaySignatureUtil.SignatureCheck("order_1", "pay_x", SIGNATURE)));
+        assertArrayEquals(new boolean[] { true, false }, results);
+    }
+}
@@ -9,6 +9,8 @@ const FALLBACK_IMAGE_URL =
 
 const Home = () => {
   const [campaigns, setCampaigns] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [comments, setComments] = useState({});
   const [newComment, setNewComment] = useState("");
   const [selectedImage, setSelectedImage] = useState(null);
@@ -29,12 +31,33 @@ const Home = () => {
     try {
       const res = await getCampaigns();
       console.log("Campaign API response:", res.data);
-      setCampaigns(res.data);
+      setCampaigns(res.data.items || []);
+      setNextCursor(res.data.nextCursor || null);
     } catch (err) {
       console.error("Error fetching campaigns:", err);
     }
   };
 
+  // Appends the next page; a campaign already shown (e.g. after a refresh) is not repeated
+  const loadMoreCampaigns = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const res = await getCampaigns({ cursor: nextCursor });
+      const items = res.data.items || [];
+      setCampaigns((prev) => {
+        const seen = new Set(prev.map((campaign) => campaign.id));
+        return [...prev, ...items.filter((campaign) => !seen.has(campaign.id))];
+      });
+      setNextCursor(res.data.nextCursor || null);
+    } catch (err) {
+      console.error("Error fetching more campaigns:", err);
+      toast.error("Unable to load more campaigns right now.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   const handleDonate = (campaignId, campaignTitle) => {
     navigate("/payment", {
       state: { campaignId, campaignTitle },
@@ -353,6 +376,14 @@ const Home = () => {
         })}
       </div>
 
+      {nextCursor && (
+        <div className="load-more">
+          <button className="filter-btn" onClick={loadMoreCampaigns} disabled={loadingMore}>
+            {loadingMore ? "Loading..." : "Load more campaigns"}
+          </button>
+        </div>
+      )}
+
       {selectedImage && (
         <div className="image-modal" onClick={closeImageModal}>
           <div className="modal-content" onClick={(e) => e.stopPropagation()}>
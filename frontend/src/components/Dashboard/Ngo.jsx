@@ -1,7 +1,7 @@
 import { useEffect, useState } from "react";
 import Swal from "sweetalert2";
 import ImageUpload from "../ImageUpload/ImageUpload";
-import { createCampaign, deleteCampaign, getCampaigns } from "../../services/api";
+import { createCampaign, deleteCampaign, getCampaignsByCreator } from "../../services/api";
 import "./Ngo.css";
 
 const FALLBACK_IMAGE_URL = "https://images.unsplash.com/photo-1576091160550-2173dba999ef?ixlib=rb-4.0.3&auto=format&fit=crop&w=1170&q=80";
@@ -30,9 +30,9 @@ const Ngo = () => {
 
   const fetchMyCampaigns = async () => {
     try {
-      const res = await getCampaigns();
+      const res = await getCampaignsByCreator(loggedInUser.id);
       console.log("NGO campaigns API response:", res.data);
-      const myCampaigns = res.data.filter((campaign) => campaign.creatorId === loggedInUser.id);
+      const myCampaigns = res.data || [];
       myCampaigns.forEach((campaign) => console.log("NGO campaign item:", campaign));
       setCampaigns(myCampaigns);
     } catch (err) {
@@ -127,7 +127,11 @@ const Payment = ({ campaignId, campaignTitle, userId, user }) => {
               razorpaySignature: response.razorpay_signature,
             });
 
-            const emailStatus = verificationResponse?.emailSent ? "Email sent." : "Email sending failed.";
+            const emailStatus = verificationResponse?.emailSent
+              ? "Email sent."
+              : (verificationResponse?.emailStatus === "NOT_QUEUED"
+                ? "Receipt email could not be queued."
+                : "Receipt email will arrive shortly.");
             setMessage(
               `Payment successful. Payment ID: ${response.razorpay_payment_id}. ${emailStatus} `
               + `Download: ${verificationResponse?.receiptDownloadUrl || "/api/receipt/download/" + response.razorpay_payment_id}`
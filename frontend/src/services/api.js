@@ -22,7 +22,10 @@ export const loginUser = (loginData) => api.post("/users/login", loginData);
 export const sendOtp = (payload) => api.post("/auth/send-otp", payload);
 export const verifyOtp = (payload) => api.post("/auth/verify-otp", payload);
 
-export const getCampaigns = () => api.get("/campaigns");
+export const getCampaigns = (params) => api.get("/campaigns", { params });
+export const getCampaignsByCreator = (creatorId) => api.get(`/campaigns/creator/${creatorId}`);
+export const getCampaignDetail = (campaignId, params) => api.get(`/campaigns/${campaignId}/detail`, { params });
+export const searchCampaigns = (params) => api.get("/campaigns/search", { params });
 export const createCampaign = (campaignData) => api.post("/campaigns", campaignData);
 export const deleteCampaign = (campaignId) => api.delete(`/campaigns/${campaignId}`);
 export const getSocialPostCaptions = (campaignId) => api.get(`/social/posts/${campaignId}`);